@@ -0,0 +1,275 @@
+package edu.kit.informatik.benchmark;
+
+import edu.kit.informatik.logic.LogicException;
+import edu.kit.informatik.logic.MaterialManagement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A synthetic product structure for benchmarks. The same shape, size and seed always result in the same catalogue,
+ * so the results of different runs can be compared.
+ * <p>
+ * The assemblies are numbered from the top to the bottom: assembly 0 is the root and every assembly only uses
+ * assemblies with a higher number. The definitions are kept bottom up, so they can be added one by one.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+public final class Catalogue {
+    private static final int MAX_AMOUNT = 1000;
+    private static final int ALPHABET = 26;
+    private static final String ASSEMBLY = "A";
+    private static final String PART = "P";
+
+    private final Random random;
+    private final List<String> names = new ArrayList<>();
+    private final List<Map<String, Integer>> definitions = new ArrayList<>();
+    private final Map<String, Map<String, Integer>> byName = new HashMap<>();
+
+    private Catalogue(long seed) {
+        random = new Random(seed);
+    }
+
+    /**
+     * A chain of assemblies, each one uses the next one and a part. Exploding it visits every assembly once.
+     *
+     * @param depth the number of assemblies.
+     * @param seed  the seed of the amounts.
+     * @return the catalogue.
+     */
+    public static Catalogue chain(int depth, long seed) {
+        Catalogue catalogue = new Catalogue(seed);
+        for (int index = depth - 1; index >= 0; index--) {
+            Map<String, Integer> nodes = catalogue.newDefinition(index);
+            nodes.put(part(index), catalogue.nextAmount());
+            if (index + 1 < depth) {
+                nodes.put(assembly(index + 1), catalogue.nextAmount());
+            }
+        }
+        return catalogue;
+    }
+
+    /**
+     * A single assembly that uses many parts directly.
+     *
+     * @param width the number of parts.
+     * @param seed  the seed of the amounts.
+     * @return the catalogue.
+     */
+    public static Catalogue fan(int width, long seed) {
+        Catalogue catalogue = new Catalogue(seed);
+        Map<String, Integer> nodes = catalogue.newDefinition(0);
+        for (int index = 0; index < width; index++) {
+            nodes.put(part(index), catalogue.nextAmount());
+        }
+        return catalogue;
+    }
+
+    /**
+     * Layers of assemblies, each one uses several assemblies of the layer below, so they are shared by many
+     * assemblies above. Without caching the assemblies below the root are visited exponentially often.
+     *
+     * @param layers the number of layers below the root.
+     * @param width  the number of assemblies in each layer.
+     * @param share  how many assemblies of the layer below each assembly uses.
+     * @param seed   the seed of the amounts and the used assemblies.
+     * @return the catalogue.
+     */
+    public static Catalogue diamonds(int layers, int width, int share, long seed) {
+        Catalogue catalogue = new Catalogue(seed);
+        int count = 1 + layers * width;
+        for (int index = count - 1; index >= 0; index--) {
+            Map<String, Integer> nodes = catalogue.newDefinition(index);
+            if (index == 0) {
+                for (int below = 1; below <= Math.min(width, count - 1); below++) {
+                    nodes.put(assembly(below), catalogue.nextAmount());
+                }
+            } else if (index > count - 1 - width) {
+                // the last layer uses the parts.
+                for (int used = 0; used < share; used++) {
+                    nodes.put(part(catalogue.random.nextInt(width * share)), catalogue.nextAmount());
+                }
+            } else {
+                int layerEnd = (index - 1) / width * width + width;
+                for (int used = 0; used < share; used++) {
+                    nodes.put(assembly(layerEnd + 1 + catalogue.random.nextInt(width)), catalogue.nextAmount());
+                }
+            }
+        }
+        return catalogue;
+    }
+
+    /**
+     * A random directed acyclic graph. Each assembly uses some assemblies with a higher number and some parts.
+     *
+     * @param assemblies  the number of assemblies.
+     * @param maxChildren the maximum number of children of an assembly.
+     * @param seed        the seed of the structure and the amounts.
+     * @return the catalogue.
+     */
+    public static Catalogue random(int assemblies, int maxChildren, long seed) {
+        Catalogue catalogue = new Catalogue(seed);
+        for (int index = assemblies - 1; index >= 0; index--) {
+            Map<String, Integer> nodes = catalogue.newDefinition(index);
+            int children = 1 + catalogue.random.nextInt(maxChildren);
+            for (int child = 0; child < children; child++) {
+                int below = assemblies - index - 1;
+                if (below > 0 && catalogue.random.nextBoolean()) {
+                    nodes.put(assembly(index + 1 + catalogue.random.nextInt(below)), catalogue.nextAmount());
+                } else {
+                    nodes.put(part(catalogue.random.nextInt(assemblies)), catalogue.nextAmount());
+                }
+            }
+        }
+        return catalogue;
+    }
+
+    /**
+     * Get the name of an assembly.
+     *
+     * @param index the number of the assembly.
+     * @return a valid name, that is different for every number.
+     */
+    public static String assembly(int index) {
+        return ASSEMBLY + letters(index);
+    }
+
+    /**
+     * Get the name of a part.
+     *
+     * @param index the number of the part.
+     * @return a valid name, that is different for every number and from all assemblies.
+     */
+    public static String part(int index) {
+        return PART + letters(index);
+    }
+
+    private static String letters(int index) {
+        StringBuilder builder = new StringBuilder();
+        int rest = index;
+        do {
+            builder.append((char) ('a' + rest % ALPHABET));
+            rest /= ALPHABET;
+        } while (rest > 0);
+        return builder.toString();
+    }
+
+    private Map<String, Integer> newDefinition(int index) {
+        Map<String, Integer> nodes = new LinkedHashMap<>();
+        names.add(assembly(index));
+        definitions.add(nodes);
+        byName.put(assembly(index), nodes);
+        return nodes;
+    }
+
+    private int nextAmount() {
+        return 1 + random.nextInt(MAX_AMOUNT);
+    }
+
+    /**
+     * Get the number of assemblies.
+     *
+     * @return how many assemblies are defined.
+     */
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * Get the names of the assemblies bottom up.
+     *
+     * @return the names, the root is the last one. Do not alter it.
+     */
+    public List<String> getNames() {
+        return names;
+    }
+
+    /**
+     * Get the definition of an assembly.
+     *
+     * @param name the name of the assembly.
+     * @return the parts/assemblies the assembly uses and their amount.
+     */
+    public Map<String, Integer> getDefinition(String name) {
+        return byName.get(name);
+    }
+
+    /**
+     * Get the assembly with the number 0. Every assembly is below it, except in a random catalogue.
+     *
+     * @return the name of the root.
+     */
+    public String getRoot() {
+        return names.get(names.size() - 1);
+    }
+
+    /**
+     * Get an assembly below the root, that only consists of parts. Changing it affects the root.
+     *
+     * @return the name of the assembly, it is the root if the root only consists of parts.
+     */
+    public String getBottom() {
+        String current = getRoot();
+        String next = current;
+        while (next != null) {
+            current = next;
+            next = null;
+            for (String child : byName.get(current).keySet()) {
+                if (byName.containsKey(child)) {
+                    next = child;
+                    break;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Get all definitions.
+     *
+     * @return the names of the assemblies and what they are made of, bottom up.
+     */
+    public Map<String, Map<String, Integer>> toMap() {
+        Map<String, Map<String, Integer>> toReturn = new LinkedHashMap<>();
+        for (int index = 0; index < names.size(); index++) {
+            toReturn.put(names.get(index), definitions.get(index));
+        }
+        return toReturn;
+    }
+
+    /**
+     * Get the addAssembly commands that create this catalogue.
+     *
+     * @return one command for each assembly, bottom up.
+     */
+    public List<String> toCommands() {
+        List<String> commands = new ArrayList<>();
+        for (int index = 0; index < names.size(); index++) {
+            StringBuilder builder = new StringBuilder("addAssembly ").append(names.get(index)).append('=');
+            String separator = "";
+            for (Map.Entry<String, Integer> node : definitions.get(index).entrySet()) {
+                builder.append(separator).append(node.getValue()).append(':').append(node.getKey());
+                separator = ";";
+            }
+            commands.add(builder.toString());
+        }
+        return commands;
+    }
+
+    /**
+     * Add all assemblies one by one.
+     *
+     * @param management the material management to add to, it must not contain any of the assemblies.
+     * @throws LogicException if an assembly can not be added.
+     */
+    public void addTo(MaterialManagement management) throws LogicException {
+        for (int index = 0; index < names.size(); index++) {
+            management.addAssembly(names.get(index), new HashMap<>(definitions.get(index)));
+        }
+    }
+}
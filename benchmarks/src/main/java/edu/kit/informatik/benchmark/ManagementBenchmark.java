@@ -0,0 +1,304 @@
+package edu.kit.informatik.benchmark;
+
+import edu.kit.informatik.logic.LogicException;
+import edu.kit.informatik.logic.MaterialManagement;
+import edu.kit.informatik.logic.Quantities;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the public operations of a {@link MaterialManagement} on the synthetic catalogues. Every operation
+ * that changes the product structure is undone in the same invocation, so all invocations work on the same catalogue.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ManagementBenchmark {
+    private static final String EXTRA = "Extra";
+    private static final int PAGE = 10;
+    private static final int ORDERS = 100;
+
+    @Param({"CHAIN", "FAN", "DIAMONDS", "RANDOM"})
+    private Shape shape;
+    @Param({"1000", "20000"})
+    private int size;
+    @Param({"false"})
+    private boolean parallel;
+
+    private Catalogue catalogue;
+    private Map<String, Map<String, Integer>> definitions;
+    private MaterialManagement management;
+    private Path checkpoint;
+    private String root;
+    private String bottom;
+    private String middle;
+    private Map<String, Integer> middleDefinition;
+    private Map<String, Integer> orders;
+
+    /**
+     * Create the catalogue and add it to a material management.
+     *
+     * @throws LogicException if the catalogue is invalid.
+     * @throws IOException    if there is no temporary file for the checkpoints.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws LogicException, IOException {
+        catalogue = shape.create(size);
+        definitions = catalogue.toMap();
+        List<String> names = catalogue.getNames();
+        root = catalogue.getRoot();
+        bottom = catalogue.getBottom();
+        middle = names.get(names.size() / 2);
+        middleDefinition = catalogue.getDefinition(middle);
+        orders = new HashMap<>();
+        // every assembly is ordered at most once, spread over the whole catalogue.
+        for (int index = 0; index < names.size(); index += Math.max(1, names.size() / ORDERS)) {
+            orders.put(names.get(index), index % PAGE + 1);
+        }
+        checkpoint = Files.createTempFile("benchmark", ".checkpoint");
+        Files.delete(checkpoint);
+        management = newManagement();
+        management.useCheckpoint(checkpoint);
+        catalogue.addTo(management);
+    }
+
+    /**
+     * Remove the checkpoints.
+     *
+     * @throws IOException if they can not be removed.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(checkpoint);
+    }
+
+    private MaterialManagement newManagement() {
+        MaterialManagement created = new MaterialManagement();
+        created.setParallel(parallel);
+        return created;
+    }
+
+    /**
+     * Build the catalogue one assembly after another.
+     *
+     * @return the new material management.
+     * @throws LogicException if the catalogue is invalid.
+     */
+    @Benchmark
+    public MaterialManagement addAssembly() throws LogicException {
+        MaterialManagement created = newManagement();
+        catalogue.addTo(created);
+        return created;
+    }
+
+    /**
+     * Build the catalogue at once.
+     *
+     * @return the new material management.
+     * @throws LogicException if the catalogue is invalid.
+     */
+    @Benchmark
+    public MaterialManagement addAssemblies() throws LogicException {
+        MaterialManagement created = newManagement();
+        created.addAssemblies(definitions);
+        return created;
+    }
+
+    /**
+     * Get the cached components of the root.
+     *
+     * @return the components.
+     * @throws LogicException if there is no root.
+     */
+    @Benchmark
+    public Quantities getComponents() throws LogicException {
+        return management.getComponents(root);
+    }
+
+    /**
+     * Get the cached assemblies of the root.
+     *
+     * @return the assemblies.
+     * @throws LogicException if there is no root.
+     */
+    @Benchmark
+    public Quantities getAssemblies() throws LogicException {
+        return management.getAssemblies(root);
+    }
+
+    /**
+     * Get the most used components of the root, ranking them each time.
+     *
+     * @return the first page of components.
+     * @throws LogicException if there is no root.
+     */
+    @Benchmark
+    public Quantities getComponentsPage() throws LogicException {
+        return management.getComponents(root, PAGE, 0);
+    }
+
+    /**
+     * Change the bottom assembly, so all cached explosions are dropped, and explode the root again.
+     *
+     * @return the components.
+     * @throws LogicException if there is no root.
+     */
+    @Benchmark
+    public Quantities getComponentsAfterChange() throws LogicException {
+        management.addPart(bottom, 1, EXTRA);
+        Quantities components = management.getComponents(root);
+        management.removePart(bottom, 1, EXTRA);
+        return components;
+    }
+
+    /**
+     * Group the cached explosion of the root by the low-level codes.
+     *
+     * @return the assemblies and parts of each level.
+     * @throws LogicException if there is no root.
+     */
+    @Benchmark
+    public Map<Integer, Quantities> getLevels() throws LogicException {
+        return management.getLevels(root);
+    }
+
+    /**
+     * Get everything needed for orders of many assemblies, which is never cached.
+     *
+     * @return the assemblies and parts.
+     * @throws LogicException if an ordered assembly does not exist.
+     */
+    @Benchmark
+    public Quantities getRequirements() throws LogicException {
+        return management.getRequirements(orders);
+    }
+
+    /**
+     * Stream the components of the root, which is never cached.
+     *
+     * @param blackhole receives the components.
+     * @throws LogicException if there is no root.
+     */
+    @Benchmark
+    public void streamComponents(Blackhole blackhole) throws LogicException {
+        management.streamComponents(root, (name, amount, exactAmount) -> blackhole.consume(amount));
+    }
+
+    /**
+     * Explode the root in a new snapshot, which has no cached explosions yet.
+     *
+     * @return the components.
+     * @throws LogicException if there is no root.
+     */
+    @Benchmark
+    public Quantities snapshotGetComponents() throws LogicException {
+        return management.snapshot().getComponents(root);
+    }
+
+    /**
+     * Print the root.
+     *
+     * @return the direct children of the root.
+     * @throws LogicException if there is no root.
+     */
+    @Benchmark
+    public Map<String, Integer> printAssembly() throws LogicException {
+        return management.printAssembly(root);
+    }
+
+    /**
+     * Find the assemblies directly using the bottom assembly.
+     *
+     * @return the assemblies using it.
+     * @throws LogicException if there is no bottom assembly.
+     */
+    @Benchmark
+    public Map<String, Integer> whereUsed() throws LogicException {
+        return management.whereUsed(bottom);
+    }
+
+    /**
+     * Find all assemblies directly or indirectly using the bottom assembly, which is never cached.
+     *
+     * @return the assemblies using it.
+     * @throws LogicException if there is no bottom assembly.
+     */
+    @Benchmark
+    public Quantities getUsages() throws LogicException {
+        return management.getUsages(bottom);
+    }
+
+    /**
+     * Add a new part to the bottom assembly and remove it again.
+     *
+     * @throws LogicException if there is no bottom assembly.
+     */
+    @Benchmark
+    public void addAndRemovePart() throws LogicException {
+        management.addPart(bottom, 1, EXTRA);
+        management.removePart(bottom, 1, EXTRA);
+    }
+
+    /**
+     * Try to add the root to an assembly below it, which is always a cycle.
+     *
+     * @return the message of the cycle.
+     */
+    @Benchmark
+    public String addPartCycle() {
+        try {
+            management.addPart(bottom, 1, root);
+            throw new IllegalStateException("the cycle was not detected.");
+        } catch (LogicException e) {
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * Remove an assembly in the middle and add it again.
+     *
+     * @throws LogicException if the assembly can not be removed or added.
+     */
+    @Benchmark
+    public void removeAndAddAssembly() throws LogicException {
+        management.removeAssembly(middle);
+        management.addAssembly(middle, middleDefinition);
+    }
+
+    /**
+     * Write the whole catalogue to a checkpoint.
+     *
+     * @throws LogicException if there is no file for checkpoints.
+     * @throws IOException    if the checkpoint can not be written.
+     */
+    @Benchmark
+    public void checkpoint() throws LogicException, IOException {
+        management.checkpoint();
+    }
+}
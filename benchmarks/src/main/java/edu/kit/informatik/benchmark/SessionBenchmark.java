@@ -0,0 +1,141 @@
+package edu.kit.informatik.benchmark;
+
+import edu.kit.informatik.ReadWrite;
+import edu.kit.informatik.logic.LogicException;
+import edu.kit.informatik.logic.MaterialManagement;
+import edu.kit.informatik.userinterface.Session;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many lines per second a {@link Session} processes end to end: reading, parsing, executing and writing
+ * the output. The output is written to memory instead of the console.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionBenchmark {
+
+    /**
+     * What the lines of the input do.
+     */
+    public enum Script {
+        /**
+         * Create the whole catalogue with addAssembly commands.
+         */
+        BUILD,
+        /**
+         * Print every assembly of an existing catalogue and break down the root.
+         */
+        QUERY,
+        /**
+         * Lines that are no valid commands, to measure the parsing and the error output.
+         */
+        INVALID
+    }
+
+    @Param({"RANDOM"})
+    private Shape shape;
+    @Param({"1000", "20000"})
+    private int size;
+    @Param({"BUILD", "QUERY", "INVALID"})
+    private Script script;
+    @Param({"true"})
+    private boolean batch;
+
+    private byte[] input;
+    private int lines;
+    private MaterialManagement management;
+
+    /**
+     * Write the input of the script.
+     *
+     * @throws LogicException if the catalogue is invalid.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws LogicException {
+        Catalogue catalogue = shape.create(size);
+        List<String> commands = new ArrayList<>();
+        switch (script) {
+            case BUILD:
+                commands.addAll(catalogue.toCommands());
+                break;
+            case QUERY:
+                management = new MaterialManagement();
+                catalogue.addTo(management);
+                for (String name : catalogue.getNames()) {
+                    commands.add("printAssembly " + name);
+                }
+                commands.add("getAssemblies " + catalogue.getRoot());
+                commands.add("getComponents " + catalogue.getRoot());
+                break;
+            default:
+                for (String command : catalogue.toCommands()) {
+                    commands.add(command.replace('=', '-'));
+                }
+                break;
+        }
+        lines = commands.size();
+        input = (String.join("\n", commands) + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Run a session over the whole script.
+     *
+     * @param counter counts the lines of the script.
+     * @return the output of the session.
+     */
+    @Benchmark
+    public ByteArrayOutputStream run(Lines counter) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(input.length);
+        // a build starts from scratch every time, the queries share the prepared catalogue.
+        MaterialManagement used = script == Script.QUERY ? management : new MaterialManagement();
+        new Session(new ReadWrite(new ByteArrayInputStream(input), output), used, batch).run();
+        counter.lines += lines;
+        return output;
+    }
+
+    /**
+     * Counts the processed lines, so JMH reports the lines per second next to the scripts per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Lines {
+        /**
+         * The number of lines processed in the current iteration.
+         */
+        public long lines;
+
+        /**
+         * Start counting for a new iteration.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            lines = 0;
+        }
+    }
+}
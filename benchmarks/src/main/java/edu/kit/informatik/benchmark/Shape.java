@@ -0,0 +1,60 @@
+package edu.kit.informatik.benchmark;
+
+/**
+ * The shapes of the synthetic catalogues, so a benchmark can be parameterized with them.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+public enum Shape {
+    /**
+     * See {@link Catalogue#chain(int, long)}.
+     */
+    CHAIN {
+        @Override
+        Catalogue create(int size) {
+            return Catalogue.chain(size, SEED);
+        }
+    },
+    /**
+     * See {@link Catalogue#fan(int, long)}.
+     */
+    FAN {
+        @Override
+        Catalogue create(int size) {
+            return Catalogue.fan(size, SEED);
+        }
+    },
+    /**
+     * See {@link Catalogue#diamonds(int, int, int, long)}, with layers of 16 assemblies that use 4 assemblies of the
+     * layer below each.
+     */
+    DIAMONDS {
+        @Override
+        Catalogue create(int size) {
+            return Catalogue.diamonds(Math.max(1, size / WIDTH), WIDTH, SHARE, SEED);
+        }
+    },
+    /**
+     * See {@link Catalogue#random(int, int, long)}, with up to 8 children per assembly.
+     */
+    RANDOM {
+        @Override
+        Catalogue create(int size) {
+            return Catalogue.random(size, 2 * SHARE, SEED);
+        }
+    };
+
+    // fixed, so every run uses the same catalogues.
+    private static final long SEED = 42;
+    private static final int WIDTH = 16;
+    private static final int SHARE = 4;
+
+    /**
+     * Create a catalogue of this shape.
+     *
+     * @param size roughly the number of assemblies, for a fan the number of parts.
+     * @return the catalogue, it is the same on every call.
+     */
+    abstract Catalogue create(int size);
+}
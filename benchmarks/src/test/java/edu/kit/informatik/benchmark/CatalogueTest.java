@@ -0,0 +1,96 @@
+package edu.kit.informatik.benchmark;
+
+import edu.kit.informatik.logic.LogicException;
+import edu.kit.informatik.logic.MaterialManagement;
+import edu.kit.informatik.logic.Quantities;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the same catalogue is generated for the same seed, so runs of the benchmarks can be compared, and that
+ * every catalogue is a valid product structure.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class CatalogueTest {
+
+    @Test
+    void isReproducible() {
+        for (long seed : new long[] {1, 42}) {
+            assertEquals(Catalogue.chain(20, seed).toMap(), Catalogue.chain(20, seed).toMap());
+            assertEquals(Catalogue.fan(20, seed).toMap(), Catalogue.fan(20, seed).toMap());
+            assertEquals(Catalogue.diamonds(4, 5, 3, seed).toMap(), Catalogue.diamonds(4, 5, 3, seed).toMap());
+            assertEquals(Catalogue.random(50, 4, seed).toMap(), Catalogue.random(50, 4, seed).toMap());
+        }
+        assertNotEquals(Catalogue.random(50, 4, 1).toMap(), Catalogue.random(50, 4, 2).toMap());
+    }
+
+    @Test
+    void namesAreUniqueAndValid() {
+        assertNotEquals(Catalogue.assembly(0), Catalogue.part(0));
+        assertNotEquals(Catalogue.assembly(1), Catalogue.assembly(26));
+        assertTrue(Catalogue.assembly(700).matches("[a-zA-Z]+"));
+    }
+
+    @Test
+    void definesEveryAssemblyBeforeItIsUsed() {
+        for (Catalogue catalogue : List.of(Catalogue.chain(30, 3), Catalogue.fan(30, 3),
+                Catalogue.diamonds(5, 4, 2, 3), Catalogue.random(80, 5, 3))) {
+            List<String> names = catalogue.getNames();
+            for (int index = 0; index < names.size(); index++) {
+                for (String child : catalogue.getDefinition(names.get(index)).keySet()) {
+                    if (catalogue.getDefinition(child) != null) {
+                        assertTrue(names.indexOf(child) < index, child + " is used before it is defined");
+                    }
+                }
+            }
+            assertEquals(Catalogue.assembly(0), catalogue.getRoot());
+            assertEquals(names.size(), catalogue.size());
+            assertEquals(names.size(), catalogue.toCommands().size());
+        }
+    }
+
+    @Test
+    void loadsIntoTheMaterialManagement() throws LogicException {
+        Catalogue catalogue = Catalogue.chain(3, 7);
+        MaterialManagement management = new MaterialManagement();
+        catalogue.addTo(management);
+
+        Map<String, Long> expected = new HashMap<>();
+        long factor = 1;
+        for (int index = 0; index < 3; index++) {
+            Map<String, Integer> definition = catalogue.getDefinition(Catalogue.assembly(index));
+            expected.put(Catalogue.part(index), factor * definition.get(Catalogue.part(index)));
+            if (index < 2) {
+                factor *= definition.get(Catalogue.assembly(index + 1));
+            }
+        }
+        Quantities components = management.getComponents(catalogue.getRoot());
+        Map<String, Long> actual = new HashMap<>();
+        for (int index = 0; index < components.size(); index++) {
+            actual.put(components.getName(index), components.getAmount(index));
+        }
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void findsAnAssemblyOfPartsOnlyAtTheBottom() {
+        Catalogue catalogue = Catalogue.diamonds(3, 4, 2, 5);
+        Map<String, Integer> bottom = catalogue.getDefinition(catalogue.getBottom());
+        assertFalse(bottom.isEmpty());
+        for (String child : bottom.keySet()) {
+            assertNull(catalogue.getDefinition(child));
+        }
+        assertEquals(catalogue.getRoot(), Catalogue.fan(5, 5).getBottom());
+    }
+}
@@ -1,27 +1,107 @@
 package edu.kit.informatik;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 
 /**
  * This is a replacement for a class I am for some reason not allowed to share ;(
+ * <p>
+ * Every session has its own instance, e.g. the console or a network connection.
+ * In buffered mode the output is collected and only written when there is no more input available right now, so
+ * piping large scripts in does not flush after each line.
  */
 public final class ReadWrite {
     private static final boolean DEBUG_OUTPUT = false;
+    private static final int BUFFER_SIZE = 1 << 16;
 
 
-    private static final BufferedReader INPUT = new BufferedReader(new InputStreamReader(System.in));
+    private final BufferedReader input;
+    private final Writer output;
+    private boolean buffered;
 
-    public static void writeError(final String message) {
-        ReadWrite.writeLine("Error, " + message);
+    /**
+     * Create the in- and output of a session.
+     *
+     * @param input  where the user input comes from.
+     * @param output where the answers go to.
+     */
+    public ReadWrite(final InputStream input, final OutputStream output) {
+        this.input = new BufferedReader(new InputStreamReader(input), BUFFER_SIZE);
+        this.output = new BufferedWriter(new OutputStreamWriter(output), BUFFER_SIZE);
     }
 
-    public static void writeLine(final Object object) {
-        System.out.println(object);
+    /**
+     * Create the in- and output of the console. Only one of them should be used at a time.
+     *
+     * @return in- and output reading from {@link System#in} and writing to the standard output.
+     */
+    public static ReadWrite console() {
+        return new ReadWrite(System.in, new FileOutputStream(FileDescriptor.out));
     }
 
-    public static String readLine() throws IOException {
-        return INPUT.readLine();
+    public void writeError(final String message) {
+        writeLine("Error, " + message);
+    }
+
+    public void writeLine(final Object object) {
+        write(object);
+        write(System.lineSeparator());
+        if (!buffered) {
+            flush();
+        }
+    }
+
+    /**
+     * Write something without ending the line, e.g. to output a long line piece by piece. It is written at the end
+     * of the line at the latest.
+     *
+     * @param object the object to write.
+     */
+    public void write(final Object object) {
+        try {
+            output.write(String.valueOf(object));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public String readLine() throws IOException {
+        // before waiting for more input, everything that was written so far has to be visible.
+        if (buffered && !input.ready()) {
+            flush();
+        }
+        return input.readLine();
+    }
+
+    /**
+     * Choose whether the output is buffered. When switching back to unbuffered output, the buffer is flushed.
+     *
+     * @param buffered <code>true</code> to only write the output when the input is exhausted or on {@link #flush()}.
+     */
+    public void setBuffered(final boolean buffered) {
+        if (!buffered) {
+            flush();
+        }
+        this.buffered = buffered;
+    }
+
+    /**
+     * Write all buffered output.
+     */
+    public void flush() {
+        try {
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
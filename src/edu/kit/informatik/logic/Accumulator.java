@@ -0,0 +1,212 @@
+package edu.kit.informatik.logic;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Sums up amounts per id without boxing. The ids and their sums are stored in the order the ids were added for the
+ * first time, an open addressing hash table points to their positions.
+ * <p>
+ * All amounts are positive. As long as a sum fits into a <code>long</code> it is stored as one, only sums that would
+ * overflow are stored exactly as {@link BigInteger}.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class Accumulator {
+    private static final int MIN_CAPACITY = 4;
+    // every weight up to this can be multiplied with an amount of an edge (which fits into a short) without overflow.
+    private static final long SAFE_WEIGHT = Long.MAX_VALUE / Short.MAX_VALUE;
+    // a slot of 0 is empty, all other slots contain the position of an id plus one.
+    private int[] slots;
+    private int[] ids;
+    private long[] sums;
+    // only created when the first sum overflows, contains the exact sum where the long sum is not valid.
+    private BigInteger[] wideSums;
+    private int size;
+
+    /**
+     * Create an empty accumulator.
+     *
+     * @param expectedSize the number of different ids that can be added without growing.
+     */
+    Accumulator(int expectedSize) {
+        int capacity = Math.max(expectedSize, MIN_CAPACITY);
+        ids = new int[capacity];
+        sums = new long[capacity];
+        // keeping the table at most half full, keeps the probe sequences short.
+        slots = new int[Integer.highestOneBit(capacity * 2 - 1) * 2];
+    }
+
+    /**
+     * Add an amount to the sum of an id.
+     *
+     * @param id     the id to add to.
+     * @param amount the positive amount to add.
+     */
+    void add(int id, long amount) {
+        int index = indexOrAdd(id);
+        if (wideSums != null && wideSums[index] != null) {
+            wideSums[index] = wideSums[index].add(BigInteger.valueOf(amount));
+            return;
+        }
+        long sum = sums[index] + amount;
+        if (sum < 0) {
+            // both are positive, so the sum overflowed.
+            setWide(index, BigInteger.valueOf(sums[index]).add(BigInteger.valueOf(amount)));
+        } else {
+            sums[index] = sum;
+        }
+    }
+
+    /**
+     * Add an amount to the sum of an id.
+     *
+     * @param id     the id to add to.
+     * @param amount the positive amount to add.
+     */
+    void add(int id, BigInteger amount) {
+        if (amount.bitLength() < Long.SIZE) {
+            add(id, amount.longValue());
+            return;
+        }
+        int index = indexOrAdd(id);
+        setWide(index, getExactSum(index).add(amount));
+    }
+
+    /**
+     * Add the product of a weight and the amount of an edge to the sum of an id.
+     *
+     * @param id     the id to add to.
+     * @param weight the positive weight.
+     * @param amount the amount of an edge, it must fit into a short.
+     */
+    void addProduct(int id, long weight, int amount) {
+        if (weight <= SAFE_WEIGHT) {
+            add(id, weight * amount);
+        } else {
+            add(id, BigInteger.valueOf(weight).multiply(BigInteger.valueOf(amount)));
+        }
+    }
+
+    /**
+     * Add all sums of another accumulator to the sums of this one.
+     *
+     * @param other the accumulator to add, it is not changed.
+     */
+    void addAll(Accumulator other) {
+        for (int index = 0; index < other.size; index++) {
+            if (other.isWide(index)) {
+                add(other.ids[index], other.wideSums[index]);
+            } else {
+                add(other.ids[index], other.sums[index]);
+            }
+        }
+    }
+
+    /**
+     * Search the position of an id.
+     *
+     * @param id the id to look for.
+     * @return the position of the id or <code>-1</code> if nothing was added for this id.
+     */
+    int indexOf(int id) {
+        return slots[findSlot(id)] - 1;
+    }
+
+    /**
+     * Get the number of different ids.
+     *
+     * @return the number of different ids added so far.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Get an id by its position.
+     *
+     * @param index the position, between 0 and {@link #size()} (exclusive).
+     * @return the id that was added as the <code>index</code>th different id.
+     */
+    int getId(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Get a sum by its position.
+     *
+     * @param index the position, between 0 and {@link #size()} (exclusive).
+     * @return the sum of the id at the same position. Only valid if it is not {@link #isWide(int)}.
+     */
+    long getSum(int index) {
+        return sums[index];
+    }
+
+    /**
+     * Check if a sum is too large for a <code>long</code>.
+     *
+     * @param index the position, between 0 and {@link #size()} (exclusive).
+     * @return <code>true</code> if the sum can only be obtained by {@link #getExactSum(int)}.
+     */
+    boolean isWide(int index) {
+        return wideSums != null && wideSums[index] != null;
+    }
+
+    /**
+     * Get a sum by its position, no matter how large it is.
+     *
+     * @param index the position, between 0 and {@link #size()} (exclusive).
+     * @return the exact sum of the id at the same position.
+     */
+    BigInteger getExactSum(int index) {
+        return isWide(index) ? wideSums[index] : BigInteger.valueOf(sums[index]);
+    }
+
+    private int indexOrAdd(int id) {
+        int slot = findSlot(id);
+        if (slots[slot] == 0) {
+            if (size == ids.length) {
+                grow();
+                slot = findSlot(id);
+            }
+            ids[size] = id;
+            slots[slot] = ++size;
+        }
+        return slots[slot] - 1;
+    }
+
+    private void setWide(int index, BigInteger sum) {
+        if (wideSums == null) {
+            wideSums = new BigInteger[ids.length];
+        }
+        wideSums[index] = sum;
+    }
+
+    private int findSlot(int id) {
+        int mask = slots.length - 1;
+        // multiplicative hashing spreads consecutive ids over the whole table.
+        int slot = (id * 0x9E3779B9) & mask;
+        while (slots[slot] != 0 && ids[slots[slot] - 1] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        ids = Arrays.copyOf(ids, ids.length * 2);
+        sums = Arrays.copyOf(sums, sums.length * 2);
+        if (wideSums != null) {
+            wideSums = Arrays.copyOf(wideSums, wideSums.length * 2);
+        }
+        slots = new int[slots.length * 2];
+        int mask = slots.length - 1;
+        for (int index = 0; index < size; index++) {
+            int slot = (ids[index] * 0x9E3779B9) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = index + 1;
+        }
+    }
+}
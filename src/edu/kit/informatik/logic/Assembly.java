@@ -1,7 +1,6 @@
 package edu.kit.informatik.logic;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 /**
  * An assembly or rather the BOM that describes the assembly. This class contains methods to alter a given assembly and
@@ -20,186 +19,287 @@ class Assembly {
 
     private static final int MIN_AMOUNT = 1;
     private static final int MAX_AMOUNT = 1000;
-    private final String name;
+    private static final int INITIAL_DEPTH = 16;
+    private final int id;
     private final Register register;
-    private final Map<String, Integer> children;
+    // replaced instead of altered, since it is shared with the snapshots of the product structure.
+    private EdgeList children;
+    // readers of a ConcurrentMaterialManagement may compute and cache explosions at the same time.
+    private volatile Explosion explosion;
 
     /**
      * Create an assembly.
      *
-     * @param name         the name of this assembly.
-     * @param childrenList the name of the assemblies/parts this assembly consists of.
-     * @param register     the mapping of all assembly names to their objects.
+     * @param id       the id of the name of this assembly.
+     * @param childIds the ids of the assemblies/parts this assembly consists of.
+     * @param amounts  the amount of each assembly/part in <code>childIds</code>.
+     * @param register the mapping of all assembly ids to their objects.
      * @throws LogicException if this assembly would be in a state illegal state. Especially it will throw a
      *                        {@link CycleException}, if creating this assembly would lead to a cycle in the product
      *                        structure.
      */
-    Assembly(String name, Map<String, Integer> childrenList, Register register) throws LogicException {
-        this.name = name;
+    Assembly(int id, int[] childIds, int[] amounts, Register register) throws LogicException {
+        this(id, register);
+        children = check(id, childIds, amounts, register);
+        register.register(this);
+    }
+
+    /**
+     * Create an assembly that is not registered, only to search the cycle it would create.
+     */
+    private Assembly(int id, Register register) {
+        this.id = id;
         this.register = register;
-        children = childrenList;
-        if (children.values().stream().anyMatch(this::outOfBounds)) {
-            throw new LogicException(ErrorMessages.BOUNDS.toString());
+    }
+
+    /**
+     * Check if an assembly could be created, without creating it. Names that have not been interned yet can not be
+     * part of a cycle, so the assembly and its children may be {@link NameTable#UNKNOWN}. This way the names of an
+     * assembly are only interned, if it can be created.
+     *
+     * @param id       the id of the name of the assembly or {@link NameTable#UNKNOWN}.
+     * @param childIds the ids of the assemblies/parts the assembly consists of, or {@link NameTable#UNKNOWN}.
+     * @param amounts  the amount of each assembly/part in <code>childIds</code>.
+     * @param register the mapping of all assembly ids to their objects.
+     * @return the children of the assembly, without the unknown ones.
+     * @throws LogicException if the assembly would be in an illegal state, see
+     *                        {@link #Assembly(int, int[], int[], Register)}.
+     */
+    static EdgeList check(int id, int[] childIds, int[] amounts, Register register) throws LogicException {
+        EdgeList children = new EdgeList(childIds.length);
+        for (int index = 0; index < childIds.length; index++) {
+            if (outOfBounds(amounts[index])) {
+                throw new LogicException(ErrorMessages.BOUNDS.toString());
+            }
+            if (childIds[index] != NameTable.UNKNOWN) {
+                children.put(childIds[index], amounts[index]);
+            }
         }
         // checks if an assembly with this name already exits, if it does it must be a part.
-        Assembly previous = register.get(name);
+        Assembly previous = register.get(id);
         if (previous != null) {
             throw new LogicException(ErrorMessages.DUPLICATE.toString());
         }
-        CycleResult cycleResult = getFirstCycle(children);
-        if (cycleResult.isCycle()) {
-            throw new CycleException(ErrorMessages.CYCLE.toString(), cycleResult.getIllegalBranch());
+        if (id != NameTable.UNKNOWN && !register.getOrder().insert(id, children)) {
+            throw new CycleException(ErrorMessages.CYCLE.toString(),
+                    new Assembly(id, register).getFirstCycle(children).getIllegalBranch());
         }
-        register.put(name, this);
+        return children;
     }
 
-    private boolean outOfBounds(int amount) {
+    /**
+     * Check if an amount of a part/assembly in an assembly is not allowed.
+     *
+     * @param amount the amount to check.
+     * @return <code>true</code> if the amount is too small or too big.
+     */
+    static boolean outOfBounds(int amount) {
         return amount < MIN_AMOUNT || amount > MAX_AMOUNT;
     }
 
     // One point of view could be that the cycle detection should be in the Register class. But from an object
     // oriented point of view those methods concern only instances of assembly. In each step it is one single
     // assembly that, if created or altered, creates a cycle. So I decided to place the cycle detection here.
+    // Whether there is a cycle at all is decided by the TopologicalOrder of the register, which is cheap in most cases.
+    // The search for the illegal branch is only done, when it is already known that there is one.
 
     /**
-     * Returns the first cycle for a given configuration.
+     * Returns the first cycle for a given configuration. The children of every assembly are searched in the order
+     * they were added to it, so if the configuration would close several cycles, the first one in that order is
+     * reported. This order is stable, unlike the order of hashed names that was used before, so the reported branch
+     * may differ from the one earlier versions reported for the same product structure.
      *
      * @param testChildes the new set of childes of this assembly.
      * @return if this configuration would create a cycle. If so the first illegal branch will be included.
      */
-    private CycleResult getFirstCycle(Map<String, Integer> testChildes) {
-        for (String nodeName : testChildes.keySet()) {
-            CycleResult cycleResult = new CycleResult();
-            if (testChildes.keySet().contains(name)) {
-                cycleResult.append(name);
-                cycleResult.append(nodeName);
-                cycleResult.detectCycle();
-                return cycleResult;
+    // The search is iterative, so even very deep product structures do not overflow the stack. It visits the
+    // assemblies in the same order as a recursive depth first search would.
+    private CycleResult getFirstCycle(EdgeList testChildes) {
+        CycleResult cycleResult = new CycleResult();
+        if (testChildes.indexOf(id) >= 0) {
+            // the assembly would directly contain itself.
+            cycleResult.append(getName(id));
+            cycleResult.append(getName(id));
+            cycleResult.detectCycle();
+            return cycleResult;
+        }
+        // Assemblies that have been searched completely without finding a cycle, do not have to be searched again.
+        boolean[] searched = new boolean[register.getNames().size()];
+        // the branch from a direct child down to the assembly that is searched, and the next child to search there.
+        int[] branch = new int[INITIAL_DEPTH];
+        int[] indices = new int[INITIAL_DEPTH];
+        long visits = 0;
+        for (int index = 0; index < testChildes.size(); index++) {
+            int nodeId = testChildes.getId(index);
+            if (register.get(nodeId) == null || searched[nodeId]) {
+                continue;
             }
-            Assembly assembly = register.get(nodeName);
-            if (assembly != null) {
-                assembly.references(name, cycleResult);
-                if (cycleResult.isCycle()) {
-                    cycleResult.append(nodeName);
-                    cycleResult.prepend(nodeName);
-                    return cycleResult;
+            searched[nodeId] = true;
+            visits++;
+            int depth = 0;
+            branch[depth] = nodeId;
+            indices[depth++] = 0;
+            while (depth > 0) {
+                EdgeList children = register.get(branch[depth - 1]).getParts();
+                int next = indices[depth - 1]++;
+                if (next == 0 && children.indexOf(id) >= 0) {
+                    // The end of the illegal branch is reached.
+                    register.getStatistics().addCycleCheckVisits(visits);
+                    return toCycleResult(branch, depth);
+                }
+                if (next < children.size()) {
+                    int child = children.getId(next);
+                    if (register.get(child) != null && !searched[child]) {
+                        searched[child] = true;
+                        visits++;
+                        if (depth == branch.length) {
+                            branch = Arrays.copyOf(branch, depth * 2);
+                            indices = Arrays.copyOf(indices, depth * 2);
+                        }
+                        branch[depth] = child;
+                        indices[depth++] = 0;
+                    }
+                } else {
+                    depth--;
                 }
             }
         }
-        return new CycleResult();
+        register.getStatistics().addCycleCheckVisits(visits);
+        return cycleResult;
     }
 
-    /**
-     * This method goes through a tree and determines if the identifier is used in a way that would create a cycle.
-     * It is a private recursion helper method, to make the usage of {@link this#getFirstCycle(Map)} more intuitive.
-     *
-     * @param identifier  the name of the assembly/part to search for.
-     * @param cycleResult when calling this from outside, there should be no cycle detected yet.
-     * @return {@see CycleResult}
-     */
-    private CycleResult references(String identifier, CycleResult cycleResult) {
-        if (children.keySet().contains(identifier)) {
-            // The End of the recursion decent is reached.
-            cycleResult.detectCycle();
-            cycleResult.append(identifier);
-            return cycleResult;
-        }
-
-        for (String nodeName : children.keySet()) {
-            Assembly assembly = register.get(nodeName);
-            if (assembly != null && assembly.references(identifier, cycleResult).isCycle()) {
-                // During the recursion ascent the "stack trace" of the illegal branch is added (in reverse order).
-                cycleResult.append(nodeName);
-                return cycleResult;
-            }
+    private CycleResult toCycleResult(int[] branch, int depth) {
+        // The call chain is kept in reverse order, starting at the direct child that leads back to this assembly.
+        CycleResult cycleResult = new CycleResult();
+        cycleResult.detectCycle();
+        cycleResult.append(getName(branch[0]));
+        cycleResult.append(getName(id));
+        for (int index = depth - 1; index > 0; index--) {
+            cycleResult.append(getName(branch[index]));
         }
+        cycleResult.append(getName(branch[0]));
         return cycleResult;
     }
 
+    private String getName(int nameId) {
+        return register.getNames().getName(nameId);
+    }
+
     /**
      * Add a assembly to this assembly.
      *
-     * @param partName the name of the assembly to add.
-     * @param amount   the amount that should be added.
+     * @param partId the id of the assembly to add.
+     * @param amount the amount that should be added.
      * @throws LogicException if there would be more than 1000 assemblies of one kind directly in this assembly. In
      *                        the case that adding this parts would create a cycle a {@link CycleException} will be
      *                        thrown.
      */
-    void addPart(String partName, int amount) throws LogicException {
+    void addPart(int partId, int amount) throws LogicException {
         if (amount < 1) {
             throw new LogicException(ErrorMessages.NOT_POSITIVE.toString());
         }
 
         // for cycle checks increasing the amount does not make a difference.
-        Map<String, Integer> newNodes = new HashMap<>(children);
-        newNodes.put(partName, amount);
-        CycleResult cycleResult = getFirstCycle(newNodes);
-        if (cycleResult.isCycle()) {
-            throw new CycleException(ErrorMessages.CYCLE.toString(), cycleResult.getIllegalBranch());
+        if (!register.getOrder().insert(id, partId)) {
+            EdgeList newNodes = new EdgeList(children.size() + 1);
+            for (int index = 0; index < children.size(); index++) {
+                newNodes.put(children.getId(index), children.getAmount(index));
+            }
+            newNodes.put(partId, MIN_AMOUNT);
+            throw new CycleException(ErrorMessages.CYCLE.toString(), getFirstCycle(newNodes).getIllegalBranch());
         }
 
-        try {
-            // using Map#merge with a merge function that simply adds the values, if there keys in both maps. To avoid a
-            // sum grater than the maximum value the merge function throws a runtime exception and does not change
-            // anything.
-            children.merge(partName, amount, (oldValue, toAdd) -> {
-                int sum = oldValue + toAdd;
-                if (outOfBounds(sum)) {
-                    throw new IllegalStateException(ErrorMessages.BOUNDS.toString());
-                }
-                return sum;
-            });
-        } catch (IllegalStateException e) {
-            // to not pass a runtime exception through the program and eventually forget about it, the
-            // IllegalStateException is converted to a LogicException (not a runtime exception).
-            throw new LogicException(e.getMessage());
+        // To avoid a sum grater than the maximum value nothing is changed if the new amount would be out of bounds.
+        int index = children.indexOf(partId);
+        int sum = index < 0 ? amount : children.getAmount(index) + amount;
+        if (outOfBounds(sum)) {
+            throw new LogicException(ErrorMessages.BOUNDS.toString());
         }
+        register.invalidate(id);
+        children = children.with(partId, sum);
+        register.setParts(id, children);
+        register.link(id, partId, sum);
     }
 
     /**
      * Decrease the amount of certain assemblies in this assembly.
      *
-     * @param partName the name of the assembly, of which the amount should be decreased.
-     * @param amount   a positive number that will be subtracted from the current amount of this assembly.
+     * @param partId the id of the assembly, of which the amount should be decreased.
+     * @param amount a positive number that will be subtracted from the current amount of this assembly.
      * @throws LogicException if decreasing the amount would leave the assembly with a node that has a
      *                        negative amount. A {@link UnknownAssemblyException} will be thrown, if this assembly
-     *                        does not have a node with name in <code>partName</code> provided name.
+     *                        does not have a node with the id <code>partId</code>.
      */
-    void removePart(String partName, int amount) throws LogicException {
+    void removePart(int partId, int amount) throws LogicException {
         if (amount < 1) {
             throw new LogicException(ErrorMessages.NOT_POSITIVE.toString());
         }
-        if (!children.containsKey(partName)) {
+        int index = children.indexOf(partId);
+        if (index < 0) {
             throw new UnknownAssemblyException(false);
         }
-        int newAmount = children.get(partName) - amount;
+        int newAmount = children.getAmount(index) - amount;
         if (newAmount == 0) {
             // fully remove
-            children.remove(partName);
+            register.invalidate(id);
+            children = children.without(partId);
+            register.setParts(id, children);
+            register.unlink(id, partId);
             if (children.isEmpty()) {
-                register.remove(name);
+                register.unregister(id);
             }
             // Checks if the removed part was an assembly used somewhere else.
-            Assembly assembly = register.get(partName);
-            if (assembly != null && register.hasPart(name)) {
+            Assembly assembly = register.get(partId);
+            if (assembly != null && register.hasPart(id)) {
                 // It is not in use anymore, so it can be removed.
-                register.remove(partName);
+                register.unregister(partId);
             }
         } else {
             if (outOfBounds(newAmount)) {
                 throw new LogicException(ErrorMessages.BOUNDS.toString());
             }
             // decrease the amount
-            children.put(partName, newAmount);
+            register.invalidate(id);
+            children = children.with(partId, newAmount);
+            register.setParts(id, children);
+            register.link(id, partId, newAmount);
         }
     }
 
+    /**
+     * Obtain the id of the name of this assembly.
+     *
+     * @return the id of this assembly.
+     */
+    int getId() {
+        return id;
+    }
+
     /**
      * Obtain all direct children of a assembly.
      *
-     * @return the names of the parts/assemblies this assembly is made off.
+     * @return the ids of the parts/assemblies this assembly is made off and their amount. Do not alter it.
      */
-    Map<String, Integer> getParts() {
+    EdgeList getParts() {
         return children;
     }
+
+    /**
+     * Obtain the cached explosion of this assembly.
+     *
+     * @return everything this assembly is made of or <code>null</code> if it has to be computed (again).
+     */
+    Explosion getExplosion() {
+        return explosion;
+    }
+
+    /**
+     * Cache the explosion of this assembly. The {@link Register} is responsible for resetting it to <code>null</code>
+     * when the explosion is out of date.
+     *
+     * @param explosion everything this assembly is made of or <code>null</code> to drop the cached explosion.
+     */
+    void setExplosion(Explosion explosion) {
+        this.explosion = explosion;
+    }
 }
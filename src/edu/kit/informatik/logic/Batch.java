@@ -0,0 +1,239 @@
+package edu.kit.informatik.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Many new assemblies that are added to a register together. Instead of keeping the product structure free of cycles
+ * after each assembly, the whole batch is checked once by a single depth first search. Either all assemblies of the
+ * batch can be added or none of them.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+// The search runs over the new assemblies and the existing product structure together, since a cycle may pass
+// through existing assemblies that use a part, that is defined as an assembly in this batch.
+final class Batch {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int UNSEEN = 0;
+    private static final int ACTIVE = 1;
+    private static final int DONE = 2;
+
+    private final Register register;
+    // the names that are not interned yet, in the order they will be interned, and the ids they will get then.
+    private final List<String> newNames = new ArrayList<>();
+    private final Map<String, Integer> newIds = new HashMap<>();
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private int[][] childIds = new int[INITIAL_CAPACITY][];
+    private int[][] amounts = new int[INITIAL_CAPACITY][];
+    // the same children as a list, to search them.
+    private EdgeList[] children = new EdgeList[INITIAL_CAPACITY];
+    private int count;
+
+    /**
+     * Create an empty batch.
+     *
+     * @param register the register the assemblies will be added to.
+     */
+    Batch(Register register) {
+        this.register = register;
+    }
+
+    /**
+     * Get the number of assemblies in this batch.
+     *
+     * @return how many assemblies were added.
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Get the id of a name. A name that has not been interned yet gets the id it will have after {@link #intern()},
+     * so the batch can be checked before anything is interned and a rejected batch leaves the names untouched.
+     *
+     * @param name the name of an assembly/part.
+     * @return the id of the name, now or after {@link #intern()}.
+     */
+    int idOf(String name) {
+        NameTable names = register.getNames();
+        int id = names.find(name);
+        if (id != NameTable.UNKNOWN) {
+            return id;
+        }
+        Integer newId = newIds.get(name);
+        if (newId == null) {
+            newId = names.size() + newNames.size();
+            newIds.put(name, newId);
+            newNames.add(name);
+        }
+        return newId;
+    }
+
+    /**
+     * Intern all names of this batch that were not interned before, so they get the ids handed out by
+     * {@link #idOf(String)}. Call this only after the batch was checked by {@link #sort()}.
+     */
+    void intern() {
+        for (String name : newNames) {
+            register.getNames().intern(name);
+        }
+    }
+
+    /**
+     * Add the definition of a new assembly. It is checked like in {@link Assembly}, except for the cycles.
+     *
+     * @param id       the id of the new assembly.
+     * @param childIds the ids of the parts/assemblies this assembly is made with.
+     * @param amounts  the amount of each of them.
+     * @throws LogicException if an amount is out of bounds or there already is an assembly with this id.
+     */
+    void add(int id, int[] childIds, int[] amounts) throws LogicException {
+        EdgeList parts = new EdgeList(childIds.length);
+        for (int index = 0; index < childIds.length; index++) {
+            if (Assembly.outOfBounds(amounts[index])) {
+                throw new LogicException(ErrorMessages.BOUNDS.toString());
+            }
+            parts.put(childIds[index], amounts[index]);
+        }
+        if (register.contains(id)) {
+            throw new LogicException(ErrorMessages.DUPLICATE.toString());
+        }
+        if (count == ids.length) {
+            ids = Arrays.copyOf(ids, count * 2);
+            this.childIds = Arrays.copyOf(this.childIds, count * 2);
+            this.amounts = Arrays.copyOf(this.amounts, count * 2);
+            children = Arrays.copyOf(children, count * 2);
+        }
+        ids[count] = id;
+        this.childIds[count] = childIds;
+        this.amounts[count] = amounts;
+        children[count++] = parts;
+    }
+
+    /**
+     * Get the id of an assembly in this batch.
+     *
+     * @param index the position of the assembly in this batch.
+     * @return the id of the assembly.
+     */
+    int getId(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Get the children of an assembly in this batch.
+     *
+     * @param index the position of the assembly in this batch.
+     * @return the ids of the parts/assemblies the assembly is made with. Do not alter it.
+     */
+    int[] getChildIds(int index) {
+        return childIds[index];
+    }
+
+    /**
+     * Get the amounts of the children of an assembly in this batch.
+     *
+     * @param index the position of the assembly in this batch.
+     * @return the amount of each child in {@link #getChildIds(int)}. Do not alter it.
+     */
+    int[] getAmounts(int index) {
+        return amounts[index];
+    }
+
+    /**
+     * Order the assemblies of this batch, so each one comes after all assemblies of the batch it consists of. Adding
+     * them in this order never creates a cycle. This takes time linear in the size of the batch and the part of the
+     * product structure below it.
+     *
+     * @return the positions of the assemblies in this batch from bottom to top.
+     * @throws LogicException if an assembly was defined twice or the batch would create a cycle.
+     */
+    int[] sort() throws LogicException {
+        // the ids of this batch in the order they were added, so the position of an id is its index in this batch.
+        Accumulator batchIds = new Accumulator(count);
+        for (int index = 0; index < count; index++) {
+            if (batchIds.indexOf(ids[index]) >= 0) {
+                throw new LogicException(ErrorMessages.DUPLICATE.toString());
+            }
+            batchIds.add(ids[index], 1);
+        }
+        Structure structure = register.getStructure();
+        // the sum of a reached id is its state, ACTIVE while it is searched and DONE afterwards. The scratch space only
+        // grows with the searched part of the structure, so a small batch stays cheap in a large catalogue.
+        Accumulator reached = new Accumulator(count);
+        int[] stack = new int[INITIAL_CAPACITY];
+        int[] indices = new int[INITIAL_CAPACITY];
+        int[] order = new int[count];
+        int done = 0;
+        long visits = 0;
+        for (int index = 0; index < count; index++) {
+            if (reached.indexOf(ids[index]) >= 0) {
+                continue;
+            }
+            int depth = 0;
+            visits++;
+            reached.add(ids[index], ACTIVE);
+            stack[depth] = ids[index];
+            indices[depth++] = 0;
+            while (depth > 0) {
+                int current = stack[depth - 1];
+                int position = batchIds.indexOf(current);
+                EdgeList parts = position >= 0 ? children[position] : structure.getParts(current);
+                int next = indices[depth - 1]++;
+                if (next < parts.size()) {
+                    int child = parts.getId(next);
+                    int state = getState(reached, child);
+                    if (state == ACTIVE) {
+                        register.getStatistics().addCycleCheckVisits(visits);
+                        throw new CycleException(ErrorMessages.CYCLE.toString(), getCycle(stack, depth, child));
+                    }
+                    if (state == UNSEEN && (batchIds.indexOf(child) >= 0 || structure.getParts(child) != null)) {
+                        visits++;
+                        reached.add(child, ACTIVE);
+                        if (depth == stack.length) {
+                            stack = Arrays.copyOf(stack, depth * 2);
+                            indices = Arrays.copyOf(indices, depth * 2);
+                        }
+                        stack[depth] = child;
+                        indices[depth++] = 0;
+                    }
+                } else {
+                    reached.add(current, DONE - ACTIVE);
+                    depth--;
+                    if (position >= 0) {
+                        order[done++] = position;
+                    }
+                }
+            }
+        }
+        register.getStatistics().addCycleCheckVisits(visits);
+        return order;
+    }
+
+    private static int getState(Accumulator reached, int id) {
+        int position = reached.indexOf(id);
+        return position < 0 ? UNSEEN : (int) reached.getSum(position);
+    }
+
+    // The assemblies on the stack from the first occurrence of child up to the top, each one uses the next one.
+    private List<String> getCycle(int[] stack, int depth, int child) {
+        List<String> cycle = new ArrayList<>();
+        cycle.add(getName(child));
+        for (int index = depth - 1; stack[index] != child; index--) {
+            cycle.add(getName(stack[index]));
+        }
+        cycle.add(getName(child));
+        Collections.reverse(cycle);
+        return cycle;
+    }
+
+    private String getName(int id) {
+        NameTable names = register.getNames();
+        return id < names.size() ? names.getName(id) : newNames.get(id - names.size());
+    }
+}
@@ -0,0 +1,224 @@
+package edu.kit.informatik.logic;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Stores the whole product structure in a file and loads it again. The file is memory mapped in both directions, so
+ * even large product structures are stored and loaded in one go.
+ * <p>
+ * Every checkpoint has a random number. A {@link WriteAheadLog} started after a checkpoint has been written or loaded
+ * refers to this number, so it is only replayed on top of the state it continues.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+// Layout: MAGIC, VERSION, the number of this checkpoint, the number of the log it replaces, the number of names,
+// assemblies and edges, the length of the string table. Then the end of each name in the string table, the string
+// table (UTF-8) itself, the first edge of each assembly, the targets of the edges and their amounts.
+// The ids in the file are dense: the assemblies come first, each after all assemblies it consists of, then the parts.
+// So the edges of assembly i are the edges from start[i] to start[i + 1] (compressed sparse rows).
+final class Checkpoint {
+    private static final int MAGIC = 0x424f4d43;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES + 2 * Long.BYTES + 4 * Integer.BYTES;
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final long number;
+    private final long replaced;
+
+    private Checkpoint(long number, long replaced) {
+        this.number = number;
+        this.replaced = replaced;
+    }
+
+    /**
+     * Get the number of this checkpoint.
+     *
+     * @return the random number of this checkpoint, never 0.
+     */
+    long getNumber() {
+        return number;
+    }
+
+    /**
+     * Get the number of the log whose changes are all contained in this checkpoint, see
+     * {@link WriteAheadLog#getBase()}.
+     *
+     * @return the number of the replaced log.
+     */
+    long getReplaced() {
+        return replaced;
+    }
+
+    /**
+     * Write a product structure to a file. The file is replaced at once, so there is always a complete checkpoint,
+     * even if writing is interrupted. When this returns, the new checkpoint is on the disk, including its directory
+     * entry, so the log it contains can be emptied.
+     *
+     * @param file      the file to write to.
+     * @param structure the product structure, it must not be changed while it is written.
+     * @param names     the names of the assemblies and parts.
+     * @param number    the number of the new checkpoint, not 0.
+     * @param replaced  the number of the log whose changes are contained in the product structure.
+     * @return the written checkpoint.
+     * @throws IOException if the file can not be written.
+     */
+    static Checkpoint write(Path file, Structure structure, NameTable names, long number, long replaced)
+            throws IOException {
+        int[] assemblies = structure.bottomUp();
+        // the dense id + 1 of each id, 0 if it is not used.
+        int[] dense = new int[names.size()];
+        int[] ids = new int[names.size()];
+        int count = 0;
+        for (int id : assemblies) {
+            ids[count] = id;
+            dense[id] = ++count;
+        }
+        int edgeCount = 0;
+        for (int id : assemblies) {
+            EdgeList children = structure.getParts(id);
+            edgeCount += children.size();
+            for (int index = 0; index < children.size(); index++) {
+                int child = children.getId(index);
+                if (dense[child] == 0) {
+                    ids[count] = child;
+                    dense[child] = ++count;
+                }
+            }
+        }
+        byte[][] encoded = new byte[count][];
+        int nameBytes = 0;
+        for (int index = 0; index < count; index++) {
+            encoded[index] = names.getName(ids[index]).getBytes(StandardCharsets.UTF_8);
+            nameBytes += encoded[index].length;
+        }
+        long size = HEADER_SIZE + (long) Integer.BYTES * (count + assemblies.length + 1)
+                + nameBytes + (long) (Integer.BYTES + Short.BYTES) * edgeCount;
+
+        Path temporary = file.resolveSibling(file.getFileName() + TEMPORARY_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(number).putLong(replaced);
+            buffer.putInt(count).putInt(assemblies.length).putInt(edgeCount).putInt(nameBytes);
+            int end = 0;
+            for (byte[] name : encoded) {
+                end += name.length;
+                buffer.putInt(end);
+            }
+            for (byte[] name : encoded) {
+                buffer.put(name);
+            }
+            int start = 0;
+            for (int id : assemblies) {
+                buffer.putInt(start);
+                start += structure.getParts(id).size();
+            }
+            buffer.putInt(start);
+            for (int id : assemblies) {
+                EdgeList children = structure.getParts(id);
+                for (int index = 0; index < children.size(); index++) {
+                    buffer.putInt(dense[children.getId(index)] - 1);
+                }
+            }
+            for (int id : assemblies) {
+                EdgeList children = structure.getParts(id);
+                for (int index = 0; index < children.size(); index++) {
+                    buffer.putShort((short) children.getAmount(index));
+                }
+            }
+            buffer.force();
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // the new name is only durable when the directory is, before that a crash may bring the old checkpoint back.
+        try (FileChannel directory = FileChannel.open(file.toAbsolutePath().getParent(), StandardOpenOption.READ)) {
+            directory.force(true);
+        }
+        return new Checkpoint(number, replaced);
+    }
+
+    /**
+     * Load a product structure from a file into an empty material management.
+     *
+     * @param file       the file to read.
+     * @param management the material management to add the assemblies to.
+     * @param names      the names of <code>management</code>.
+     * @return the loaded checkpoint.
+     * @throws IOException if the file can not be read or is not a valid checkpoint.
+     */
+    static Checkpoint load(Path file, MaterialManagement management, NameTable names) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException(file + " is not a checkpoint of this program.");
+            }
+            Checkpoint checkpoint = new Checkpoint(buffer.getLong(), buffer.getLong());
+            int count = buffer.getInt();
+            int assemblyCount = buffer.getInt();
+            int edgeCount = buffer.getInt();
+            int nameBytes = buffer.getInt();
+            if (count < assemblyCount || assemblyCount < 0 || edgeCount < 0 || nameBytes < 0) {
+                throw new IOException(file + " is corrupted.");
+            }
+            ByteBuffer ends = buffer.slice();
+            ByteBuffer strings = skip(buffer, (long) Integer.BYTES * count).slice();
+            ByteBuffer starts = skip(buffer, nameBytes).slice();
+            ByteBuffer targets = skip(buffer, (long) Integer.BYTES * (assemblyCount + 1)).slice();
+            ByteBuffer amounts = skip(buffer, (long) Integer.BYTES * edgeCount).slice();
+            skip(buffer, (long) Short.BYTES * edgeCount);
+
+            int[] ids = new int[count];
+            int start = 0;
+            for (int index = 0; index < count; index++) {
+                int end = ends.getInt();
+                if (end < start || end > nameBytes) {
+                    throw new IOException(file + " is corrupted.");
+                }
+                byte[] name = new byte[end - start];
+                strings.get(name);
+                ids[index] = names.intern(new String(name, StandardCharsets.UTF_8));
+                start = end;
+            }
+            int first = starts.getInt();
+            for (int index = 0; index < assemblyCount; index++) {
+                int last = starts.getInt();
+                if (last < first || last > edgeCount) {
+                    throw new IOException(file + " is corrupted.");
+                }
+                int[] childIds = new int[last - first];
+                int[] childAmounts = new int[childIds.length];
+                for (int child = 0; child < childIds.length; child++) {
+                    int target = targets.getInt();
+                    if (target < 0 || target >= count) {
+                        throw new IOException(file + " is corrupted.");
+                    }
+                    childIds[child] = ids[target];
+                    childAmounts[child] = amounts.getShort();
+                }
+                // the assemblies below are already there, so the cycle check is cheap.
+                management.addAssembly(ids[index], childIds, childAmounts);
+                first = last;
+            }
+            return checkpoint;
+        } catch (LogicException | BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException(file + " is corrupted.", e);
+        }
+    }
+
+    private static ByteBuffer skip(ByteBuffer buffer, long bytes) throws IOException {
+        if (bytes > buffer.remaining()) {
+            throw new IOException("the checkpoint is truncated.");
+        }
+        buffer.position(buffer.position() + (int) bytes);
+        return buffer;
+    }
+}
@@ -0,0 +1,269 @@
+package edu.kit.informatik.logic;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A {@link MaterialManagement} that can be used by several threads at the same time. Any number of queries run in
+ * parallel without waiting for each other. Changes are made one after another and each of them is atomic, including
+ * the cycle check and removing assemblies that are not used anymore. While a change is made, queries wait for it.
+ * If there is a log, the changes of several threads are stored on the disk together.
+ * <p>
+ * To query the product structure while it is changed, use a {@link #snapshot()}, it never waits.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+// Queries only read the product structure. The only thing they write are the cached explosions, but computing the
+// same explosion twice results in the same values, so it does not matter which thread stores it.
+public class ConcurrentMaterialManagement extends MaterialManagement {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock read = lock.readLock();
+    private final Lock write = lock.writeLock();
+
+    @Override
+    public void setParallel(boolean parallel) {
+        write.lock();
+        try {
+            super.setParallel(parallel);
+        } finally {
+            write.unlock();
+        }
+    }
+
+    @Override
+    public void useCheckpoint(Path file) throws IOException {
+        write.lock();
+        try {
+            super.useCheckpoint(file);
+        } finally {
+            write.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * No changes can be made until the checkpoint is written, so the log and the checkpoint fit together.
+     */
+    @Override
+    public void checkpoint() throws LogicException, IOException {
+        write.lock();
+        try {
+            super.checkpoint();
+        } finally {
+            write.unlock();
+        }
+    }
+
+    @Override
+    public void useLog(Path file) throws IOException {
+        write.lock();
+        try {
+            super.useLog(file);
+        } finally {
+            write.unlock();
+        }
+    }
+
+    @Override
+    public void addAssembly(String assemblyName, Map<String, Integer> nodes) throws LogicException {
+        write.lock();
+        try {
+            super.addAssembly(assemblyName, nodes);
+        } finally {
+            write.unlock();
+        }
+        super.commit();
+    }
+
+    @Override
+    public void addAssemblies(Map<String, Map<String, Integer>> definitions) throws LogicException {
+        write.lock();
+        try {
+            super.addAssemblies(definitions);
+        } finally {
+            write.unlock();
+        }
+        super.commit();
+    }
+
+    @Override
+    public void addPart(String assemblyName, int amount, String part) throws LogicException {
+        write.lock();
+        try {
+            super.addPart(assemblyName, amount, part);
+        } finally {
+            write.unlock();
+        }
+        super.commit();
+    }
+
+    @Override
+    public Quantities getAssemblies(String name) throws LogicException {
+        read.lock();
+        try {
+            return super.getAssemblies(name);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public Quantities getComponents(String name) throws LogicException {
+        read.lock();
+        try {
+            return super.getComponents(name);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The parts are handed over from a {@link #snapshot()}, so changes do not wait for the consumer and the consumer
+     * may even alter this material management. Those changes do not affect the parts handed over.
+     */
+    @Override
+    public void streamComponents(String name, QuantityConsumer consumer) throws LogicException {
+        super.streamComponents(name, consumer);
+    }
+
+    // A consumer might be slow, e.g. a client of the server that does not read its answer. Holding the read lock
+    // meanwhile would block every change and, since the lock is not fair, every query queued behind that change.
+    @Override
+    void stream(String name, QuantityConsumer consumer) throws LogicException {
+        Snapshot snapshot;
+        read.lock();
+        try {
+            snapshot = takeSnapshot();
+        } finally {
+            read.unlock();
+        }
+        snapshot.streamComponents(name, consumer);
+    }
+
+    @Override
+    public Quantities getAssemblies(String name, int limit, int offset) throws LogicException {
+        read.lock();
+        try {
+            return super.getAssemblies(name, limit, offset);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public Quantities getComponents(String name, int limit, int offset) throws LogicException {
+        read.lock();
+        try {
+            return super.getComponents(name, limit, offset);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public Map<String, Integer> printAssembly(String name) throws LogicException {
+        read.lock();
+        try {
+            return super.printAssembly(name);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public Snapshot snapshot() {
+        // taking a snapshot only marks the product structure as shared, so it does not have to wait for other readers.
+        read.lock();
+        try {
+            return super.snapshot();
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public Map<String, Integer> whereUsed(String name) throws LogicException {
+        read.lock();
+        try {
+            return super.whereUsed(name);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public Quantities getUsages(String name) throws LogicException {
+        read.lock();
+        try {
+            return super.getUsages(name);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public Quantities getUsages(String name, int limit, int offset) throws LogicException {
+        read.lock();
+        try {
+            return super.getUsages(name, limit, offset);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public Map<Integer, Quantities> getLevels(String name) throws LogicException {
+        read.lock();
+        try {
+            return super.getLevels(name);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public Quantities getRequirements(Map<String, Integer> demands) throws LogicException {
+        read.lock();
+        try {
+            return super.getRequirements(demands);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public void removeAssembly(String name) throws LogicException {
+        write.lock();
+        try {
+            super.removeAssembly(name);
+        } finally {
+            write.unlock();
+        }
+        super.commit();
+    }
+
+    @Override
+    public void removePart(String name, int amount, String partName) throws LogicException {
+        write.lock();
+        try {
+            super.removePart(name, amount, partName);
+        } finally {
+            write.unlock();
+        }
+        super.commit();
+    }
+
+    // The changes only wait for the log after the lock is released, so other threads can make changes meanwhile,
+    // which are written to the disk together with the waiting ones.
+    @Override
+    void commit() {
+    }
+}
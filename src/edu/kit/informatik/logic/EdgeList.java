@@ -0,0 +1,235 @@
+package edu.kit.informatik.logic;
+
+import java.util.Arrays;
+
+/**
+ * The edges of one assembly/part in the product structure. It stores the ids of the assemblies/parts at the other end
+ * of the edges and the amount of each edge in two parallel arrays, to avoid boxing and hashing in the traversals. The
+ * order of the edges is the order in which they were added.
+ * <p>
+ * Long lists, like the assemblies using a common part, also keep an open addressing hash table from the ids to their
+ * positions, so an edge is found, added and removed in constant time.
+ * <p>
+ * The children of an assembly are shared with snapshots of the product structure, so once such a list is in use it
+ * must not be altered anymore. Instead it is replaced by an altered copy, see {@link #with(int, int)}.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+// the amount of an edge is always between 1 and 1000, so a short is large enough.
+class EdgeList {
+    private static final int MIN_CAPACITY = 2;
+    // shorter lists are just scanned, that is faster than hashing.
+    private static final int MAX_SCANNED = 8;
+    private int[] ids;
+    private short[] amounts;
+    private int size;
+    // null while the list is short. Otherwise a slot of 0 is empty, all other slots contain a position + 1. The table
+    // is always updated together with the list, so reading a list that is not altered anymore never writes.
+    private int[] slots;
+
+    /**
+     * Create an empty list of edges.
+     *
+     * @param capacity the number of edges that can be stored without growing.
+     */
+    EdgeList(int capacity) {
+        ids = new int[Math.max(capacity, MIN_CAPACITY)];
+        amounts = new short[ids.length];
+    }
+
+    private EdgeList(EdgeList other, int capacity) {
+        ids = Arrays.copyOf(other.ids, Math.max(capacity, MIN_CAPACITY));
+        amounts = Arrays.copyOf(other.amounts, ids.length);
+        size = other.size;
+        if (size > MAX_SCANNED) {
+            rehash();
+        }
+    }
+
+    /**
+     * Get the number of edges.
+     *
+     * @return how many edges are in this list.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Check if there are no edges.
+     *
+     * @return <code>true</code> if this list does not contain a single edge.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Get the id at the other end of an edge.
+     *
+     * @param index the position of the edge, between 0 and {@link #size()} (exclusive).
+     * @return the id of the assembly/part.
+     */
+    int getId(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Get the amount of an edge.
+     *
+     * @param index the position of the edge, between 0 and {@link #size()} (exclusive).
+     * @return the amount of the edge.
+     */
+    int getAmount(int index) {
+        return amounts[index];
+    }
+
+    /**
+     * Search for the edge to an assembly/part.
+     *
+     * @param id the id of the assembly/part.
+     * @return the position of the edge or <code>-1</code> if there is none.
+     */
+    int indexOf(int id) {
+        if (slots != null) {
+            return slots[findSlot(id)] - 1;
+        }
+        for (int index = 0; index < size; index++) {
+            if (ids[index] == id) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Add an edge or update the amount of an existing one.
+     *
+     * @param id     the id of the assembly/part.
+     * @param amount the amount of the edge, between 1 and 1000.
+     */
+    void put(int id, int amount) {
+        int index = indexOf(id);
+        if (index < 0) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                amounts = Arrays.copyOf(amounts, size * 2);
+            }
+            index = size++;
+            ids[index] = id;
+            if (slots != null && size * 2 <= slots.length) {
+                slots[findSlot(id)] = size;
+            } else if (size > MAX_SCANNED) {
+                rehash();
+            }
+        }
+        amounts[index] = (short) amount;
+    }
+
+    /**
+     * Remove the edge to an assembly/part, if there is one.
+     *
+     * @param id the id of the assembly/part.
+     */
+    void remove(int id) {
+        int index = indexOf(id);
+        if (index >= 0) {
+            // close the gap, so the order of the remaining edges stays the same.
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(amounts, index + 1, amounts, index, size - index - 1);
+            size--;
+            if (slots != null) {
+                rehash();
+            }
+        }
+    }
+
+    /**
+     * Remove the edge to an assembly/part, if there is one, in constant time. The last edge takes its place, so the
+     * order of the edges is not kept.
+     *
+     * @param id the id of the assembly/part.
+     */
+    void removeUnordered(int id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return;
+        }
+        int last = --size;
+        if (slots != null) {
+            delete(findSlot(id));
+            if (index != last) {
+                slots[findSlot(ids[last])] = index + 1;
+            }
+        }
+        ids[index] = ids[last];
+        amounts[index] = amounts[last];
+    }
+
+    /**
+     * Create a copy of this list with an edge added or updated. This list is not altered.
+     *
+     * @param id     the id of the assembly/part.
+     * @param amount the amount of the edge, between 1 and 1000.
+     * @return the altered copy.
+     */
+    EdgeList with(int id, int amount) {
+        EdgeList copy = new EdgeList(this, size + 1);
+        copy.put(id, amount);
+        return copy;
+    }
+
+    /**
+     * Create a copy of this list without the edge to an assembly/part. This list is not altered.
+     *
+     * @param id the id of the assembly/part.
+     * @return the altered copy.
+     */
+    EdgeList without(int id) {
+        EdgeList copy = new EdgeList(this, size);
+        copy.remove(id);
+        return copy;
+    }
+
+    private int findSlot(int id) {
+        int mask = slots.length - 1;
+        // multiplicative hashing spreads consecutive ids over the whole table.
+        int slot = (id * 0x9E3779B9) & mask;
+        while (slots[slot] != 0 && ids[slots[slot] - 1] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // the table is kept at most half full, so the probe sequences stay short.
+    private void rehash() {
+        if (size <= MAX_SCANNED) {
+            slots = null;
+            return;
+        }
+        slots = new int[Integer.highestOneBit(size * 4 - 1)];
+        for (int index = 0; index < size; index++) {
+            slots[findSlot(ids[index])] = index + 1;
+        }
+    }
+
+    /**
+     * Empty a slot and move the following entries of its probe sequence back, so they can still be found.
+     */
+    private void delete(int slot) {
+        int mask = slots.length - 1;
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (slots[next] != 0) {
+            int home = (ids[slots[next] - 1] * 0x9E3779B9) & mask;
+            // the entry may fill the gap, if the gap lies on its way from its home slot to where it is now.
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                slots[gap] = slots[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        slots[gap] = 0;
+    }
+}
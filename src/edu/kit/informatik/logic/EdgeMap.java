@@ -0,0 +1,83 @@
+package edu.kit.informatik.logic;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A read-only map view of a list of edges, that translates the ids into names. Since the lists of children are never
+ * altered, such a view can be returned instead of a copy.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class EdgeMap extends AbstractMap<String, Integer> {
+    private final NameTable names;
+    private final EdgeList edges;
+
+    /**
+     * Create a view. The list must not be altered afterwards.
+     *
+     * @param names to translate the ids of <code>edges</code> into names.
+     * @param edges the names and their amount.
+     */
+    EdgeMap(NameTable names, EdgeList edges) {
+        this.names = names;
+        this.edges = edges;
+    }
+
+    @Override
+    public int size() {
+        return edges.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Integer get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        int id = names.find((String) key);
+        int index = id == NameTable.UNKNOWN ? -1 : edges.indexOf(id);
+        return index < 0 ? null : edges.getAmount(index);
+    }
+
+    @Override
+    public Set<Entry<String, Integer>> entrySet() {
+        return new AbstractSet<Entry<String, Integer>>() {
+            @Override
+            public int size() {
+                return edges.size();
+            }
+
+            @Override
+            public Iterator<Entry<String, Integer>> iterator() {
+                return new Iterator<Entry<String, Integer>>() {
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < edges.size();
+                    }
+
+                    @Override
+                    public Entry<String, Integer> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<String, Integer> entry = new SimpleImmutableEntry<>(names.getName(edges.getId(index)),
+                                edges.getAmount(index));
+                        index++;
+                        return entry;
+                    }
+                };
+            }
+        };
+    }
+}
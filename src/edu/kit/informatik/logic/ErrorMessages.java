@@ -38,7 +38,11 @@ public enum ErrorMessages {
     /**
      * A the direct amount of the child of a assembly is not between 1 and 1000.
      */
-    BOUNDS("quantities in BOM must be between 1 and 1000.");
+    BOUNDS("quantities in BOM must be between 1 and 1000."),
+    /**
+     * A checkpoint was requested, but there is no file to write it to.
+     */
+    NO_CHECKPOINT("there is no file for checkpoints.");
 
     private final String text;
 
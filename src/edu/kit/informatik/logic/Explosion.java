@@ -0,0 +1,42 @@
+package edu.kit.informatik.logic;
+
+/**
+ * The result of breaking an assembly down into everything it is made of. It contains the amount of all assemblies
+ * "below" the exploded assembly and the amount of all parts (leaves) that are required to build it.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class Explosion {
+    private final Accumulator assemblies;
+    private final Accumulator components;
+
+    /**
+     * Create an explosion. The accumulators must not be altered afterwards.
+     *
+     * @param assemblies the amount of each assembly below the exploded assembly.
+     * @param components the amount of each part required to build the exploded assembly.
+     */
+    Explosion(Accumulator assemblies, Accumulator components) {
+        this.assemblies = assemblies;
+        this.components = components;
+    }
+
+    /**
+     * Obtain the assemblies of this explosion.
+     *
+     * @return the amount of each assembly. Do not alter it.
+     */
+    Accumulator getAssemblies() {
+        return assemblies;
+    }
+
+    /**
+     * Obtain the components of this explosion.
+     *
+     * @return the amount of each component. Do not alter it.
+     */
+    Accumulator getComponents() {
+        return components;
+    }
+}
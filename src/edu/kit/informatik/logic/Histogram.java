@@ -0,0 +1,150 @@
+package edu.kit.informatik.logic;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how often durations of a certain size occurred. Recording does not allocate or lock anything, so it can be
+ * used on every call of an operation, even by several threads at the same time.
+ * <p>
+ * Like a HdrHistogram the durations are counted in buckets, whose width grows with the duration: each power of two
+ * is split into 32 buckets. So every reported value is at most about 3% larger than the recorded one.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+// Reading the buckets while others are recording does not result in a consistent view, but each bucket is exact. For
+// statistics that is good enough. The total and the maximum are striped over several cells, so threads recording at
+// the same time do not contend for a single one.
+public final class Histogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // durations from 2^40 nanoseconds (about 18 minutes) on are counted in the last bucket.
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = SUB_BUCKETS * (MAX_EXPONENT - SUB_BUCKET_BITS + 2);
+    private static final double PERCENT = 100;
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Create an empty histogram.
+     *
+     * @param name what is measured.
+     */
+    Histogram(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Get the name of this histogram.
+     *
+     * @return what is measured.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Count a duration.
+     *
+     * @param nanos the duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(value));
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Count the time since a start.
+     *
+     * @param start the start in nanoseconds, see {@link System#nanoTime()}.
+     */
+    public void recordSince(long start) {
+        record(System.nanoTime() - start);
+    }
+
+    /**
+     * Get the number of recorded durations.
+     *
+     * @return how often {@link #record(long)} was called.
+     */
+    public long getCount() {
+        long count = 0;
+        for (int index = 0; index < BUCKETS; index++) {
+            count += counts.get(index);
+        }
+        return count;
+    }
+
+    /**
+     * Get the average duration.
+     *
+     * @return the mean in nanoseconds, 0 if nothing was recorded.
+     */
+    public long getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : total.sum() / count;
+    }
+
+    /**
+     * Get the longest duration.
+     *
+     * @return the exact maximum in nanoseconds, 0 if nothing was recorded.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Get the duration, that a given percentage of all recorded durations did not exceed.
+     *
+     * @param percentile the percentage, between 0 and 100.
+     * @return the duration in nanoseconds, 0 if nothing was recorded.
+     */
+    public long getPercentile(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int index = 0; index < BUCKETS; index++) {
+            snapshot[index] = counts.get(index);
+            count += snapshot[index];
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / PERCENT * count));
+        long seen = 0;
+        for (int index = 0; index < BUCKETS; index++) {
+            seen += snapshot[index];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(index), max.get());
+            }
+        }
+        return 0;
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        // the bits right below the highest one choose the sub bucket.
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS * (exponent - SUB_BUCKET_BITS + 1) + subBucket;
+    }
+
+    private static long highestValueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + subBucket * width + width - 1;
+    }
+}
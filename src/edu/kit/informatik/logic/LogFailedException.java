@@ -0,0 +1,22 @@
+package edu.kit.informatik.logic;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Signals that a change could not be stored in the log of a material management. Once this happened, every further
+ * change is rejected with this exception, since it could not be restored either. Queries still work.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+public class LogFailedException extends UncheckedIOException {
+    /**
+     * Constructs a new {@link LogFailedException}.
+     *
+     * @param cause why the log could not be written.
+     */
+    public LogFailedException(IOException cause) {
+        super(cause);
+    }
+}
@@ -0,0 +1,158 @@
+package edu.kit.informatik.logic;
+
+import java.util.Arrays;
+
+/**
+ * The low-level code of every assembly and part of a {@link Register}, that is maintained while the product structure
+ * changes. The low-level code is the deepest level an assembly/part is used on in any assembly: assemblies that are
+ * not used anywhere have the code 0 and everything else has the code of its deepest parent plus one. So everything
+ * is planned after all assemblies using it, when planning level by level.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+// When the parents of an assembly/part change, only its code and the codes below it can change. A change only
+// remembers the assembly/part, the codes are recomputed when they are read. E.g. building a chain bottom up changes
+// the code of every assembly below the new one each time, but reading the codes afterwards recomputes each of them
+// once. They are recomputed from the codes of their parents in the order of the TopologicalOrder, so every
+// assembly/part is recomputed only after all of its parents are done. The search stops at codes that did not change.
+class LowLevelCodes {
+    private final Register register;
+    private int[] codes = new int[0];
+    // the codes while they are up to date, null if they have to be recomputed first. Queries that find valid codes
+    // do not need the lock, so they do not wait for each other.
+    private volatile int[] valid;
+    // the assemblies/parts that have to be recomputed. While recomputing, it is a binary heap ordered by the
+    // topological position. Until then the positions may still change, so it is just a list.
+    private int[] heap = new int[0];
+    private int size;
+    private boolean[] queued = new boolean[0];
+
+    /**
+     * Create the codes for an empty register.
+     *
+     * @param register the register whose product structure should be leveled.
+     */
+    LowLevelCodes(Register register) {
+        this.register = register;
+    }
+
+    /**
+     * Remember that the code of an assembly/part and everything below it might have changed. This has to be called
+     * every time an assembly starts or stops using it.
+     *
+     * @param id the id of the assembly/part whose parents changed.
+     */
+    void update(int id) {
+        valid = null;
+        ensureCapacity();
+        if (!queued[id]) {
+            queued[id] = true;
+            heap[size++] = id;
+        }
+    }
+
+    /**
+     * Get the low-level code of every assembly/part. Several queries may call this at the same time, but not while
+     * the product structure changes. Only the first query after a change recomputes the codes, the others wait for
+     * it.
+     *
+     * @return the deepest level each assembly/part is used on indexed by its id, 0 if it is not used anywhere. Ids
+     * that were never used may be missing. Do not alter it.
+     */
+    int[] getCodes() {
+        int[] current = valid;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (valid == null) {
+                recompute();
+                valid = codes;
+            }
+            return valid;
+        }
+    }
+
+    private void recompute() {
+        TopologicalOrder order = register.getOrder();
+        for (int position = size / 2 - 1; position >= 0; position--) {
+            siftDown(position, order);
+        }
+        while (size > 0) {
+            int current = pop(order);
+            queued[current] = false;
+            int code = 0;
+            EdgeList parents = register.getParents(current);
+            for (int index = 0; index < parents.size(); index++) {
+                code = Math.max(code, codes[parents.getId(index)] + 1);
+            }
+            if (code == codes[current]) {
+                continue;
+            }
+            codes[current] = code;
+            Assembly assembly = register.get(current);
+            if (assembly != null) {
+                EdgeList children = assembly.getParts();
+                for (int index = 0; index < children.size(); index++) {
+                    push(children.getId(index), order);
+                }
+            }
+        }
+    }
+
+    private void ensureCapacity() {
+        int capacity = register.getNames().size();
+        if (codes.length < capacity) {
+            capacity = Math.max(capacity, codes.length * 2);
+            codes = Arrays.copyOf(codes, capacity);
+            heap = Arrays.copyOf(heap, capacity);
+            queued = Arrays.copyOf(queued, capacity);
+        }
+    }
+
+    private void push(int id, TopologicalOrder order) {
+        if (queued[id]) {
+            return;
+        }
+        queued[id] = true;
+        int position = size++;
+        heap[position] = id;
+        while (position > 0 && isBefore(heap[position], heap[(position - 1) / 2], order)) {
+            swap(position, (position - 1) / 2);
+            position = (position - 1) / 2;
+        }
+    }
+
+    private int pop(TopologicalOrder order) {
+        int first = heap[0];
+        heap[0] = heap[--size];
+        siftDown(0, order);
+        return first;
+    }
+
+    private void siftDown(int start, TopologicalOrder order) {
+        int position = start;
+        while (2 * position + 1 < size) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && isBefore(heap[child + 1], heap[child], order)) {
+                child++;
+            }
+            if (!isBefore(heap[child], heap[position], order)) {
+                break;
+            }
+            swap(position, child);
+            position = child;
+        }
+    }
+
+    private static boolean isBefore(int first, int second, TopologicalOrder order) {
+        return order.getPosition(first) < order.getPosition(second);
+    }
+
+    private void swap(int first, int second) {
+        int swapped = heap[first];
+        heap[first] = heap[second];
+        heap[second] = swapped;
+    }
+}
@@ -1,22 +1,142 @@
 package edu.kit.informatik.logic;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Responsible for the communication between front and backend. Instances of this class will return
- * and use cloned objects, so external changes always go via the public methods of this class.
+ * and use cloned objects or read-only views, so external changes always go via the public methods of this class.
  * <p>
  * If the effect of the method call would create an illegal state of the system or if the an
  * unknown object was requested, methods of this class will throw a {@link LogicException}.
+ * <p>
+ * An instance must not be used by several threads at the same time, use a {@link ConcurrentMaterialManagement} for
+ * that.
  *
  * @author Liam Wachter
  * @version 1.0
  */
 // Note: Strings are not cloned, since they are immutable, so passing the reference is not a problem.
+// Inside the logic package all assemblies and parts are referred to by ids, this class translates between names and ids.
 public class MaterialManagement {
 
     private final Register register = new Register();
+    private final NameTable names = register.getNames();
+    private final Statistics statistics = register.getStatistics();
+    // null if the changes are not logged.
+    private WriteAheadLog log;
+    // null if there are no checkpoints.
+    private Path checkpointFile;
+    // the number of the checkpoint the current state started from and the number of the log it contains, 0 if it
+    // started from the empty product structure.
+    private long checkpoint;
+    private long replacedLog;
+
+    /**
+     * Choose whether large explosions of {@link #getAssemblies(String)} and {@link #getComponents(String)} are computed
+     * by several threads. The results are the same in both modes. By default everything is computed sequentially.
+     *
+     * @param parallel <code>true</code> to use several threads for explosions of wide and large assemblies.
+     */
+    public void setParallel(boolean parallel) {
+        register.setParallel(parallel);
+    }
+
+    /**
+     * Obtain the metrics of this material management. They are updated as the material management is used.
+     *
+     * @return the statistics of this material management, they can be published via JMX.
+     */
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Restore the state stored in a checkpoint, if there is one, and write all further checkpoints to the same file.
+     * This must be called before anything else is done with this material management.
+     *
+     * @param file the file of the checkpoint, it does not have to exist yet.
+     * @throws IOException if the checkpoint can not be read. If it could not be loaded completely, this material
+     *                     management should not be used anymore.
+     */
+    public void useCheckpoint(Path file) throws IOException {
+        if (names.size() > 0 || log != null || checkpointFile != null) {
+            throw new IllegalStateException("a checkpoint can only be used by a new material management.");
+        }
+        if (Files.exists(file)) {
+            Checkpoint loaded = Checkpoint.load(file, this, names);
+            checkpoint = loaded.getNumber();
+            replacedLog = loaded.getReplaced();
+        }
+        checkpointFile = file;
+    }
+
+    /**
+     * Store the whole product structure in the file of the checkpoints, see {@link #useCheckpoint(Path)}. If there is
+     * a log, it is emptied afterwards, since all its changes are contained in the checkpoint.
+     *
+     * @throws LogicException if there is no file for checkpoints.
+     * @throws IOException    if the checkpoint can not be written.
+     */
+    public void checkpoint() throws LogicException, IOException {
+        if (checkpointFile == null) {
+            throw new LogicException(ErrorMessages.NO_CHECKPOINT.toString());
+        }
+        timed(Statistics.Operation.CHECKPOINT, () -> {
+            long number;
+            do {
+                number = ThreadLocalRandom.current().nextLong();
+            } while (number == 0);
+            // without a log, no log matches the checkpoint as replaced.
+            long replaced = log != null ? log.getBase() : number;
+            Checkpoint.write(checkpointFile, register.getStructure(), names, number, replaced);
+            checkpoint = number;
+            replacedLog = replaced;
+            // if this fails, the old log is replaced when it is opened together with the new checkpoint the next time.
+            if (log != null) {
+                log.reset(number);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Restore the state stored in a log and append all further changes to it. Each change returns only when it is
+     * stored on the disk. Here every change is synced on its own, only a {@link ConcurrentMaterialManagement} stores
+     * the changes of several threads on the disk together. This must be called before anything else is done with
+     * this material management, except for {@link #useCheckpoint(Path)}. The log only contains the changes made after
+     * the checkpoint was written or loaded, so it has to be used with the same checkpoint every time.
+     *
+     * @param file the file of the log, if it does not exist it will be created.
+     * @throws IOException if the log can not be read or written or does not continue the loaded checkpoint. If it
+     *                     could not be replayed completely, this material management should not be used anymore.
+     */
+    public void useLog(Path file) throws IOException {
+        if (log != null || names.size() > 0 && checkpointFile == null) {
+            throw new IllegalStateException("a log can only be used by a new material management.");
+        }
+        WriteAheadLog opened = new WriteAheadLog(file, names, checkpoint);
+        try {
+            if (opened.getBase() != checkpoint) {
+                if (checkpoint == 0 || opened.getBase() != replacedLog) {
+                    throw new IOException(file + " does not continue the checkpoint.");
+                }
+                // the checkpoint was written, but the log was not emptied afterwards.
+                opened.reset(checkpoint);
+            }
+            opened.replay(this);
+        } catch (IOException e) {
+            opened.close();
+            throw e;
+        }
+        log = opened;
+    }
 
     /**
      * Creates a new assembly.
@@ -27,7 +147,79 @@ public class MaterialManagement {
      *                        create a cycle.
      */
     public void addAssembly(String assemblyName, Map<String, Integer> nodes) throws LogicException {
-        new Assembly(assemblyName, new HashMap<>(nodes), register);
+        change(Statistics.Operation.ADD_ASSEMBLY, () -> {
+            int id = names.find(assemblyName);
+            boolean known = id != NameTable.UNKNOWN;
+            int[] childIds = new int[nodes.size()];
+            int[] amounts = new int[nodes.size()];
+            int index = 0;
+            for (Map.Entry<String, Integer> node : nodes.entrySet()) {
+                childIds[index] = names.find(node.getKey());
+                known &= childIds[index] != NameTable.UNKNOWN;
+                amounts[index++] = node.getValue();
+            }
+            if (!known) {
+                // new names are only interned if the assembly can be created, so rejected commands leave no trace.
+                Assembly.check(id, childIds, amounts, register);
+                if (id == NameTable.UNKNOWN && nodes.containsKey(assemblyName)) {
+                    // a new assembly can only be part of a cycle, if it directly uses itself.
+                    throw new CycleException(ErrorMessages.CYCLE.toString(), Arrays.asList(assemblyName, assemblyName));
+                }
+                id = names.intern(assemblyName);
+                index = 0;
+                for (String child : nodes.keySet()) {
+                    childIds[index++] = names.intern(child);
+                }
+            }
+            addAssembly(id, childIds, amounts);
+        });
+    }
+
+    /**
+     * Create a new assembly by ids, see {@link #addAssembly(String, Map)}. The change is logged, but not committed.
+     *
+     * @param id       the id of the new assembly.
+     * @param childIds the ids of the parts/assemblies this assembly is made with.
+     * @param amounts  the amount of each of them.
+     * @throws LogicException if the assembly can not be created.
+     */
+    void addAssembly(int id, int[] childIds, int[] amounts) throws LogicException {
+        new Assembly(id, childIds, amounts, register);
+        if (log != null) {
+            log.addAssembly(id, childIds, amounts);
+        }
+    }
+
+    /**
+     * Creates many new assemblies at once. Other than adding them one by one with
+     * {@link #addAssembly(String, Map)}, the product structure is only checked for cycles once, after all of them are
+     * known. So the assemblies can be defined in any order. Either all assemblies are created or none of them.
+     *
+     * @param definitions the names of the new assemblies and the parts/assemblies each of them is made with.
+     * @throws LogicException If an assembly with one of the names is already present, if an amount is out of bounds
+     *                        or if adding the assemblies would create a cycle.
+     */
+    public void addAssemblies(Map<String, Map<String, Integer>> definitions) throws LogicException {
+        change(Statistics.Operation.ADD_ASSEMBLIES, () -> {
+            Batch batch = new Batch(register);
+            for (Map.Entry<String, Map<String, Integer>> definition : definitions.entrySet()) {
+                Map<String, Integer> nodes = definition.getValue();
+                int[] childIds = new int[nodes.size()];
+                int[] amounts = new int[nodes.size()];
+                int index = 0;
+                for (Map.Entry<String, Integer> node : nodes.entrySet()) {
+                    childIds[index] = batch.idOf(node.getKey());
+                    amounts[index++] = node.getValue();
+                }
+                batch.add(batch.idOf(definition.getKey()), childIds, amounts);
+            }
+            int[] order = batch.sort();
+            batch.intern();
+            // bottom up the assemblies below are already there, so the check for cycles of each assembly is cheap.
+            for (int index : order) {
+                addAssembly(batch.getId(index), batch.getChildIds(index), batch.getAmounts(index));
+            }
+        });
     }
 
     /**
@@ -40,48 +232,251 @@ public class MaterialManagement {
      *                        incorrectly or the new amount would be greater than 1000.
      */
     public void addPart(String assemblyName, int amount, String part) throws LogicException {
-        Assembly assembly = register.get(assemblyName);
-        if (assembly == null) {
-            throw new UnknownAssemblyException(register.hasPart(assemblyName));
+        change(Statistics.Operation.ADD_PART, () -> {
+            int id = names.find(assemblyName);
+            if (register.get(id) == null) {
+                throw new UnknownAssemblyException(register.hasPart(id));
+            }
+            int partId = names.find(part);
+            if (partId == NameTable.UNKNOWN) {
+                // a new part can not create a cycle, so only its amount has to be checked before its name is interned.
+                if (amount < 1) {
+                    throw new LogicException(ErrorMessages.NOT_POSITIVE.toString());
+                }
+                if (Assembly.outOfBounds(amount)) {
+                    throw new LogicException(ErrorMessages.BOUNDS.toString());
+                }
+                partId = names.intern(part);
+            }
+            addPart(id, amount, partId);
+        });
+    }
+
+    /**
+     * Add parts/assemblies to an existing assembly by ids, see {@link #addPart(String, int, String)}. The change is
+     * logged, but not committed.
+     *
+     * @param id     the id of the assembly, it has to exist.
+     * @param amount how many parts should be added.
+     * @param partId the id of the part to add.
+     * @throws LogicException if the parts can not be added.
+     */
+    void addPart(int id, int amount, int partId) throws LogicException {
+        register.get(id).addPart(partId, amount);
+        if (log != null) {
+            log.addPart(id, amount, partId);
         }
-        assembly.addPart(part, amount);
     }
 
     /**
      * Obtain the amount of different assemblies that are required to build a given assembly.
      *
      * @param name the name of the assembly.
-     * @return A mapping between assembly names and their amount or an empty map if the requested assembly is a part.
+     * @return The assembly names and their amount, it is empty if the requested assembly only consists of parts.
      * @throws LogicException if there is no such assembly.
      */
-    public Map<String, Long> getAssemblies(String name) throws LogicException {
-        return new HashMap<>(register.getAssemblies(name));
+    public Quantities getAssemblies(String name) throws LogicException {
+        return timed(Statistics.Operation.GET_ASSEMBLIES, () -> register.getAssemblies(names.find(name)));
     }
 
     /**
      * Obtain the amount of different parts that are required to build a given assembly.
      *
      * @param name the name of the assembly.
-     * @return A mapping between part names and their amount.
+     * @return The part names and their amount.
+     * @throws LogicException if there is no such assembly.
+     */
+    public Quantities getComponents(String name) throws LogicException {
+        return timed(Statistics.Operation.GET_COMPONENTS, () -> register.getComponents(names.find(name)));
+    }
+
+    /**
+     * Hand the different parts that are required to build a given assembly to a consumer, without collecting them
+     * first. The parts are handed over in no particular order and the result is not cached, so this is meant for
+     * large assemblies that are only broken down once.
+     *
+     * @param name     the name of the assembly.
+     * @param consumer receives every part and its amount exactly once. It must not alter this material management.
+     * @throws LogicException if there is no such assembly, in that case nothing is handed over.
+     */
+    public void streamComponents(String name, QuantityConsumer consumer) throws LogicException {
+        timed(Statistics.Operation.STREAM_COMPONENTS, () -> {
+            stream(name, consumer);
+            return null;
+        });
+    }
+
+    /**
+     * Hand the parts required to build an assembly to a consumer, see
+     * {@link #streamComponents(String, QuantityConsumer)}. The latency is not recorded.
+     *
+     * @param name     the name of the assembly.
+     * @param consumer receives every part and its amount exactly once.
      * @throws LogicException if there is no such assembly.
      */
-    public Map<String, Long> getComponents(String name) throws LogicException {
-        return new HashMap<>(register.getComponents(name));
+    void stream(String name, QuantityConsumer consumer) throws LogicException {
+        register.streamComponents(names.find(name), consumer);
+    }
+
+    /**
+     * Obtain a page of the different assemblies that are required to build a given assembly. The assemblies are
+     * ranked by their amount (largest first) and than by name.
+     *
+     * @param name   the name of the assembly.
+     * @param limit  the maximum number of assemblies to return.
+     * @param offset how many of the highest ranked assemblies to skip.
+     * @return The assembly names and their amount in the order of their rank.
+     * @throws LogicException if there is no such assembly.
+     */
+    public Quantities getAssemblies(String name, int limit, int offset) throws LogicException {
+        return timed(Statistics.Operation.GET_ASSEMBLIES,
+            () -> register.getAssemblies(names.find(name)).select(offset, limit));
+    }
+
+    /**
+     * Obtain a page of the different parts that are required to build a given assembly. The parts are ranked by
+     * their amount (largest first) and than by name. E.g. with an offset of 0 these are the most used parts.
+     *
+     * @param name   the name of the assembly.
+     * @param limit  the maximum number of parts to return.
+     * @param offset how many of the highest ranked parts to skip.
+     * @return The part names and their amount in the order of their rank.
+     * @throws LogicException if there is no such assembly.
+     */
+    public Quantities getComponents(String name, int limit, int offset) throws LogicException {
+        return timed(Statistics.Operation.GET_COMPONENTS,
+            () -> register.getComponents(names.find(name)).select(offset, limit));
     }
 
     /**
      * Obtain the parts/assemblies a given assembly directly consists of.
      *
      * @param name the name of the assembly.
-     * @return A mapping between part/assembly names and their amount
+     * @return A read-only mapping between part/assembly names and their amount. It does not change, if the assembly
+     * is altered afterwards.
      * @throws LogicException if there is no such assembly.
      */
     public Map<String, Integer> printAssembly(String name) throws LogicException {
-        Assembly assembly = register.get(name);
-        if (assembly == null) {
-            throw new UnknownAssemblyException(register.hasPart(name));
+        return timed(Statistics.Operation.PRINT_ASSEMBLY, () -> {
+            int id = names.find(name);
+            Assembly assembly = register.get(id);
+            if (assembly == null) {
+                throw new UnknownAssemblyException(register.hasPart(id));
+            }
+            // the children are replaced instead of altered, so they do not have to be copied.
+            return new EdgeMap(names, assembly.getParts());
+        });
+    }
+
+    /**
+     * Take a snapshot of the whole product structure. It is not affected by later changes of this material
+     * management, so it can be queried by other threads while this material management is altered. Taking a snapshot
+     * is cheap, nothing is copied.
+     *
+     * @return a read-only view of the current product structure.
+     */
+    public Snapshot snapshot() {
+        return timed(Statistics.Operation.SNAPSHOT, this::takeSnapshot);
+    }
+
+    /**
+     * Take a snapshot, see {@link #snapshot()}. The latency is not recorded.
+     *
+     * @return a read-only view of the current product structure.
+     */
+    Snapshot takeSnapshot() {
+        return register.snapshot();
+    }
+
+    /**
+     * Obtain the assemblies a given assembly/part is directly used in.
+     *
+     * @param name the name of the assembly/part.
+     * @return A mapping between the assemblies using <code>name</code> and how many of it they use. The map is
+     * empty if <code>name</code> is an assembly that is not used anywhere.
+     * @throws LogicException if there is no such assembly/part.
+     */
+    public Map<String, Integer> whereUsed(String name) throws LogicException {
+        return timed(Statistics.Operation.WHERE_USED, () -> {
+            int id = names.find(name);
+            if (!register.contains(id) && !register.hasPart(id)) {
+                throw new UnknownAssemblyException(false);
+            }
+            return toMap(register.getParents(id));
+        });
+    }
+
+    /**
+     * Obtain every assembly a given assembly/part is directly or transitively used in. This is the reverse of
+     * {@link #getComponents(String)}: each assembly is mapped to the amount of the given assembly/part needed to
+     * build it once. Every assembly above is visited only once, no matter how often it is used.
+     *
+     * @param name the name of the assembly/part.
+     * @return The assembly names and the amount of <code>name</code> they consist of, it is empty if
+     * <code>name</code> is an assembly that is not used anywhere.
+     * @throws LogicException if there is no such assembly/part.
+     */
+    public Quantities getUsages(String name) throws LogicException {
+        return timed(Statistics.Operation.GET_USAGES, () -> register.getUsages(names.find(name)));
+    }
+
+    /**
+     * Obtain a page of the assemblies a given assembly/part is directly or transitively used in, see
+     * {@link #getUsages(String)}. The assemblies are ranked by the amount they need (largest first) and than by name.
+     *
+     * @param name   the name of the assembly/part.
+     * @param limit  the maximum number of assemblies to return.
+     * @param offset how many of the highest ranked assemblies to skip.
+     * @return The assembly names and the amount of <code>name</code> they consist of in the order of their rank.
+     * @throws LogicException if there is no such assembly/part.
+     */
+    public Quantities getUsages(String name, int limit, int offset) throws LogicException {
+        return timed(Statistics.Operation.GET_USAGES, () -> register.getUsages(names.find(name)).select(offset, limit));
+    }
+
+    /**
+     * Obtain the assemblies and parts that are required to build a given assembly grouped by their low-level code,
+     * i.e. the deepest level they are used on in any assembly. Planning the levels in ascending order, everything is
+     * planned after all assemblies using it.
+     *
+     * @param name the name of the assembly.
+     * @return A read-only mapping from the low-level codes in ascending order to the names of the assemblies/parts
+     * with this code and their amount.
+     * @throws LogicException if there is no such assembly.
+     */
+    public Map<Integer, Quantities> getLevels(String name) throws LogicException {
+        return timed(Statistics.Operation.GET_LEVELS,
+            () -> Collections.unmodifiableMap(register.getLevels(names.find(name))));
+    }
+
+    /**
+     * Obtain everything that is required to build several assemblies, e.g. for a list of orders. Assemblies shared by
+     * several of them are only broken down once, so this is much faster than calling {@link #getAssemblies(String)}
+     * and {@link #getComponents(String)} for each of them.
+     *
+     * @param demands the names of the assemblies to build and how many of each are needed.
+     * @return The names of all required assemblies (including the given ones) and parts and their total amount.
+     * @throws LogicException if one of them is no assembly or an amount is not positive.
+     */
+    public Quantities getRequirements(Map<String, Integer> demands) throws LogicException {
+        return timed(Statistics.Operation.GET_REQUIREMENTS, () -> {
+            int[] ids = new int[demands.size()];
+            int[] amounts = new int[demands.size()];
+            int index = 0;
+            for (Map.Entry<String, Integer> demand : demands.entrySet()) {
+                ids[index] = names.find(demand.getKey());
+                amounts[index++] = demand.getValue();
+            }
+            return register.getRequirements(ids, amounts);
+        });
+    }
+
+    private Map<String, Integer> toMap(EdgeList edges) {
+        Map<String, Integer> toReturn = new HashMap<>();
+        for (int index = 0; index < edges.size(); index++) {
+            toReturn.put(names.getName(edges.getId(index)), edges.getAmount(index));
         }
-        return new HashMap<>(assembly.getParts());
+        return toReturn;
     }
 
     /**
@@ -91,9 +486,22 @@ public class MaterialManagement {
      * @throws LogicException if there is no such assembly.
      */
     public void removeAssembly(String name) throws LogicException {
-        if (register.remove(name) == null) {
+        change(Statistics.Operation.REMOVE_ASSEMBLY, () -> removeAssembly(names.find(name)));
+    }
+
+    /**
+     * Remove an assembly by its id, see {@link #removeAssembly(String)}. The change is logged, but not committed.
+     *
+     * @param id the id of the assembly to remove.
+     * @throws LogicException if there is no such assembly.
+     */
+    void removeAssembly(int id) throws LogicException {
+        if (register.unregister(id) == null) {
             throw new UnknownAssemblyException(false);
         }
+        if (log != null) {
+            log.removeAssembly(id);
+        }
     }
 
     /**
@@ -106,10 +514,106 @@ public class MaterialManagement {
      *                        assembly. I.e an negative amount.
      */
     public void removePart(String name, int amount, String partName) throws LogicException {
-        Assembly assembly = register.get(name);
+        change(Statistics.Operation.REMOVE_PART, () -> removePart(names.find(name), amount, names.find(partName)));
+    }
+
+    /**
+     * Decrease the amount of parts/assemblies in an assembly by ids, see {@link #removePart(String, int, String)}.
+     * The change is logged, but not committed.
+     *
+     * @param id     the id of the assembly to remove from.
+     * @param amount the amount of parts/assemblies to remove.
+     * @param partId the id of the part/assembly to remove.
+     * @throws LogicException if the parts can not be removed.
+     */
+    void removePart(int id, int amount, int partId) throws LogicException {
+        Assembly assembly = register.get(id);
         if (assembly == null) {
             throw new UnknownAssemblyException(false);
         }
-        assembly.removePart(partName, amount);
+        assembly.removePart(partId, amount);
+        if (log != null) {
+            log.removePart(id, amount, partId);
+        }
+    }
+
+    /**
+     * Do something and record how long it took in the statistics.
+     *
+     * @param operation the public method that does it.
+     * @param action    what to do.
+     * @param <T>       the type of the result.
+     * @param <E>       the type of the exception, that might be thrown.
+     * @return the result of the action.
+     * @throws E if the action fails.
+     */
+    private <T, E extends Exception> T timed(Statistics.Operation operation, Action<T, E> action) throws E {
+        long start = System.nanoTime();
+        try {
+            return action.run();
+        } finally {
+            statistics.getLatencies(operation).recordSince(start);
+        }
+    }
+
+    /**
+     * Make a change and record how long it took in the statistics. Nothing is changed if the log can not be written
+     * anymore, otherwise the change is committed afterwards.
+     *
+     * @param operation the public method that makes the change.
+     * @param change    the change to make.
+     * @throws LogicException if the change fails.
+     */
+    private void change(Statistics.Operation operation, Change change) throws LogicException {
+        timed(operation, () -> {
+            beginChange();
+            change.run();
+            commit();
+            return null;
+        });
+    }
+
+    /**
+     * Check that a change can be stored in the log, if there is one. Called at the start of every change, so no more
+     * changes are made, that could not be restored, once writing the log failed.
+     *
+     * @throws LogFailedException if the log can not be written anymore.
+     */
+    private void beginChange() {
+        if (log != null) {
+            log.ensureWritable();
+        }
+    }
+
+    /**
+     * Wait until all changes made so far are stored in the log, if there is one. Called at the end of every change,
+     * so every change waits for a sync of its own. {@link ConcurrentMaterialManagement} overrides this to wait after
+     * releasing its lock, which lets the changes of several threads share one sync.
+     *
+     * @throws LogFailedException if the log can not be written.
+     */
+    void commit() {
+        if (log != null) {
+            log.sync();
+        }
+    }
+
+    /**
+     * Something done by a public method, see {@link #timed(Statistics.Operation, Action)}.
+     *
+     * @param <T> the type of the result.
+     * @param <E> the type of the exception, that might be thrown.
+     */
+    @FunctionalInterface
+    private interface Action<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    /**
+     * A change made by a public method, see {@link #change(Statistics.Operation, Change)}.
+     */
+    @FunctionalInterface
+    private interface Change {
+        void run() throws LogicException;
     }
 }
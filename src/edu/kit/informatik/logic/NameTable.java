@@ -0,0 +1,77 @@
+package edu.kit.informatik.logic;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns a dense number (id) to every name of an assembly/part. Inside the logic package assemblies and parts are
+ * only referred to by their id, names are just translated when entering or leaving the package.
+ * <p>
+ * Only one thread at a time may intern names, but names and ids can be looked up by any thread, e.g. by the owner of
+ * a {@link Snapshot}.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class NameTable {
+    /**
+     * The id returned for names that have never been interned.
+     */
+    static final int UNKNOWN = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    // grows by copying, so an array that was read before still contains all names that were interned at that time.
+    private volatile String[] names = new String[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Get the id of a name, if there is none yet it will be created.
+     *
+     * @param name the name of an assembly/part.
+     * @return the id of this name.
+     */
+    int intern(String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = size;
+            if (size == names.length) {
+                names = Arrays.copyOf(names, size * 2);
+            }
+            names[size++] = name;
+            // the name has to be stored before its id can be found by other threads.
+            ids.put(name, id);
+        }
+        return id;
+    }
+
+    /**
+     * Get the id of a name without creating a new one.
+     *
+     * @param name the name of an assembly/part.
+     * @return the id of this name or {@link #UNKNOWN}.
+     */
+    int find(String name) {
+        return ids.getOrDefault(name, UNKNOWN);
+    }
+
+    /**
+     * Translate an id back into a name.
+     *
+     * @param id the id of an assembly/part.
+     * @return the name that belongs to this id.
+     */
+    String getName(int id) {
+        return names[id];
+    }
+
+    /**
+     * Get the number of names that have been interned. All ids are smaller than this number.
+     *
+     * @return the number of interned names.
+     */
+    int size() {
+        return size;
+    }
+}
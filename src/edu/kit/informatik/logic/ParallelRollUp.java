@@ -0,0 +1,67 @@
+package edu.kit.informatik.logic;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes the explosion of a wide assembly in parallel. The direct children of the assembly are split into ranges,
+ * each range is rolled up by its own task into its own accumulators and the results are added up afterwards. Since
+ * adding is exact, the result is the same as the one of a sequential roll-up.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+// Each task only visits the assemblies below its own range. Assemblies that are shared between ranges are visited by
+// each of those tasks, so splitting only pays off if there are a lot of children with a lot below them.
+// The tasks are never serialized, so they do not need a serialVersionUID.
+@SuppressWarnings("serial")
+class ParallelRollUp extends RecursiveTask<Explosion> {
+    private static final int MIN_CHILDREN = 16;
+    private static final int MIN_ASSEMBLIES = 1024;
+    private final Structure structure;
+    private final int id;
+    private final int from;
+    private final int to;
+
+    /**
+     * Create a task to roll up a range of the direct children of an assembly.
+     *
+     * @param structure the product structure that contains the assembly.
+     * @param id        the id of the exploded assembly.
+     * @param from      the index of the first direct child to roll up.
+     * @param to        the index of the last direct child to roll up (exclusive).
+     */
+    ParallelRollUp(Structure structure, int id, int from, int to) {
+        this.structure = structure;
+        this.id = id;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Decide if an explosion is large enough to be computed in parallel. This only looks at the direct children and
+     * at most {@value #MIN_ASSEMBLIES} assemblies below them.
+     *
+     * @param structure the product structure that contains the assembly.
+     * @param id        the id of the exploded assembly.
+     * @return <code>true</code> if it should be split into tasks.
+     */
+    static boolean isWorthIt(Structure structure, int id) {
+        return structure.getParts(id).size() >= 2 * MIN_CHILDREN
+                && structure.countAssemblies(id, MIN_ASSEMBLIES) >= MIN_ASSEMBLIES;
+    }
+
+    @Override
+    protected Explosion compute() {
+        if (to - from < 2 * MIN_CHILDREN) {
+            return structure.rollUp(id, from, to);
+        }
+        int middle = (from + to) >>> 1;
+        ParallelRollUp left = new ParallelRollUp(structure, id, from, middle);
+        left.fork();
+        Explosion explosion = new ParallelRollUp(structure, id, middle, to).compute();
+        Explosion other = left.join();
+        explosion.getAssemblies().addAll(other.getAssemblies());
+        explosion.getComponents().addAll(other.getComponents());
+        return explosion;
+    }
+}
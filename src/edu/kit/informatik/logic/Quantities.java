@@ -0,0 +1,168 @@
+package edu.kit.informatik.logic;
+
+import java.math.BigInteger;
+
+/**
+ * A read-only view of the amounts of assemblies/parts, e.g. the result of a roll-up. The entries can be iterated by
+ * their index without creating any objects. The order of the entries is not specified, except for a view created by
+ * {@link #select(long, long)}.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+public class Quantities {
+    private final NameTable names;
+    private final Accumulator amounts;
+
+    /**
+     * Create a view. The accumulator must not be altered afterwards.
+     *
+     * @param names   to translate the ids of <code>amounts</code> into names.
+     * @param amounts the amount of each assembly/part.
+     */
+    Quantities(NameTable names, Accumulator amounts) {
+        this.names = names;
+        this.amounts = amounts;
+    }
+
+    /**
+     * Get the number of entries.
+     *
+     * @return how many different assemblies/parts are in this view.
+     */
+    public int size() {
+        return amounts.size();
+    }
+
+    /**
+     * Check if there are no entries.
+     *
+     * @return <code>true</code> if this view does not contain a single assembly/part.
+     */
+    public boolean isEmpty() {
+        return amounts.size() == 0;
+    }
+
+    /**
+     * Get the name of an entry.
+     *
+     * @param index the index of the entry, between 0 and {@link #size()} (exclusive).
+     * @return the name of the assembly/part.
+     */
+    public String getName(int index) {
+        return names.getName(amounts.getId(index));
+    }
+
+    /**
+     * Get the amount of an entry.
+     *
+     * @param index the index of the entry, between 0 and {@link #size()} (exclusive).
+     * @return the amount of the assembly/part. It is only valid, if the entry is not {@link #isWide(int)}.
+     */
+    public long getAmount(int index) {
+        return amounts.getSum(index);
+    }
+
+    /**
+     * Check if the amount of an entry is too large for a <code>long</code>.
+     *
+     * @param index the index of the entry, between 0 and {@link #size()} (exclusive).
+     * @return <code>true</code> if the amount can only be obtained by {@link #getExactAmount(int)}.
+     */
+    public boolean isWide(int index) {
+        return amounts.isWide(index);
+    }
+
+    /**
+     * Get the amount of an entry, no matter how large it is.
+     *
+     * @param index the index of the entry, between 0 and {@link #size()} (exclusive).
+     * @return the exact amount of the assembly/part.
+     */
+    public BigInteger getExactAmount(int index) {
+        return amounts.getExactSum(index);
+    }
+
+    /**
+     * Select a page of the entries, ranked by amount (largest first) and than name. Only the entries up to the end of
+     * the page are ranked, the rest is never sorted.
+     *
+     * @param offset how many of the highest ranked entries to skip.
+     * @param limit  the maximum number of entries in the page.
+     * @return the entries of the page in the order of their rank.
+     */
+    Quantities select(long offset, long limit) {
+        int end = (int) Math.min(size(), offset + limit);
+        // a heap of the best entries found so far, the worst of them is at the top, so it can be replaced quickly.
+        int[] heap = new int[end];
+        int heapSize = 0;
+        for (int index = 0; index < size(); index++) {
+            if (heapSize < end) {
+                heap[heapSize] = index;
+                siftUp(heap, heapSize++);
+            } else if (end > 0 && compare(index, heap[0]) < 0) {
+                heap[0] = index;
+                siftDown(heap, heapSize);
+            }
+        }
+        // taking the worst entry from the heap until only the page is left, fills the page from its end.
+        Accumulator page = new Accumulator(Math.max(0, end - (int) Math.min(offset, end)));
+        int[] ranked = new int[heapSize];
+        while (heapSize > 0) {
+            ranked[heapSize - 1] = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize);
+        }
+        for (int rank = (int) Math.min(offset, end); rank < end; rank++) {
+            int index = ranked[rank];
+            if (amounts.isWide(index)) {
+                page.add(amounts.getId(index), amounts.getExactSum(index));
+            } else {
+                page.add(amounts.getId(index), amounts.getSum(index));
+            }
+        }
+        return new Quantities(names, page);
+    }
+
+    /**
+     * Compare two entries by their rank.
+     *
+     * @return a negative number if the first entry is ranked higher than the second, i.e. it has the larger amount
+     * or the same amount and the smaller name.
+     */
+    private int compare(int first, int second) {
+        int comparison;
+        if (!amounts.isWide(first) && !amounts.isWide(second)) {
+            comparison = Long.compare(amounts.getSum(second), amounts.getSum(first));
+        } else {
+            comparison = amounts.getExactSum(second).compareTo(amounts.getExactSum(first));
+        }
+        return comparison != 0 ? comparison : getName(first).compareTo(getName(second));
+    }
+
+    private void siftUp(int[] heap, int position) {
+        int entry = heap[position];
+        while (position > 0 && compare(entry, heap[(position - 1) / 2]) > 0) {
+            heap[position] = heap[(position - 1) / 2];
+            position = (position - 1) / 2;
+        }
+        heap[position] = entry;
+    }
+
+    private void siftDown(int[] heap, int size) {
+        int position = 0;
+        int entry = heap[0];
+        while (2 * position + 1 < size) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && compare(heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (compare(entry, heap[child]) >= 0) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = entry;
+    }
+}
@@ -0,0 +1,21 @@
+package edu.kit.informatik.logic;
+
+import java.math.BigInteger;
+
+/**
+ * Receives the amounts of assemblies/parts one after another, e.g. while an assembly is broken down.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface QuantityConsumer {
+    /**
+     * Receive the amount of one assembly/part.
+     *
+     * @param name        the name of the assembly/part.
+     * @param amount      the amount of it. It is only valid, if <code>exactAmount</code> is <code>null</code>.
+     * @param exactAmount the amount, if it is too large for a long, <code>null</code> otherwise.
+     */
+    void accept(String name, long amount, BigInteger exactAmount);
+}
@@ -1,95 +1,424 @@
 package edu.kit.informatik.logic;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
- * The Register is a mapping between assemblies and their name. Looking at the product structure as a tree it
- * contains references to all inner vertexes.
+ * The Register is a mapping between assemblies and their id. Looking at the product structure as a tree it
+ * contains references to all inner vertexes. It also knows the names behind the ids.
  *
  * @author Liam Wachter
  * @version 1.0
  */
 // This class is not only useful because of its methods, but it also improves readability, since when using a map
 // directly it wouldn't be as clear as now what this map is used for.
-class Register extends HashMap<String, Assembly> {
+class Register {
+    private static final EdgeList NO_EDGES = new EdgeList(0);
+    private final NameTable names = new NameTable();
+    private final Statistics statistics = new Statistics();
+    // both arrays are indexed by id and grow with the name table.
+    private Assembly[] assemblies = new Assembly[0];
+    // The reverse direction of the product structure (the "where-used" index). It maps the id of an assembly/part to
+    // all assemblies that directly use it and how many of it they use. It only contains the assemblies that are
+    // currently in this register, so an id is a used part exactly if its list is not empty.
+    private EdgeList[] parents = new EdgeList[0];
+    // The children of every assembly indexed by id, null for parts. The lists are never altered, but replaced. The
+    // array itself is shared with the latest snapshot until it is changed, in that case it is copied first.
+    private EdgeList[] structure = new EdgeList[0];
+    private boolean shared;
+    private final TopologicalOrder order = new TopologicalOrder(this);
+    private final LowLevelCodes lowLevelCodes = new LowLevelCodes(this);
+    private boolean parallel;
+    // scratch space for the invalidation. Instead of clearing the marks of visited ids after each invalidation, every
+    // invalidation uses a new mark.
+    private int[] visited = new int[0];
+    private int mark;
+    private int[] stack = new int[0];
+
+    /**
+     * Obtain the names of all assemblies and parts.
+     *
+     * @return the table to translate between names and ids.
+     */
+    NameTable getNames() {
+        return names;
+    }
+
+    /**
+     * Obtain the metrics of this register.
+     *
+     * @return the statistics, that are kept up to date by this register.
+     */
+    Statistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Obtain the order that is used to decide if a change of the product structure would create a cycle.
+     *
+     * @return the topological order of all assemblies and parts in this register.
+     */
+    TopologicalOrder getOrder() {
+        return order;
+    }
+
+    /**
+     * Choose how large explosions are computed. Small ones are always computed by the calling thread.
+     *
+     * @param parallel <code>true</code> to split large explosions into tasks of the common
+     *                 {@link java.util.concurrent.ForkJoinPool}.
+     */
+    void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Get an assembly by its id.
+     *
+     * @param id the id of the assembly.
+     * @return the assembly or <code>null</code> if there is no such assembly.
+     */
+    Assembly get(int id) {
+        return id >= 0 && id < assemblies.length ? assemblies[id] : null;
+    }
+
+    /**
+     * Check if there is an assembly with a given id.
+     *
+     * @param id the id of the assembly.
+     * @return <code>true</code> if there is such an assembly.
+     */
+    boolean contains(int id) {
+        return get(id) != null;
+    }
+
+    private void ensureCapacity() {
+        int size = names.size();
+        if (assemblies.length < size) {
+            int capacity = Math.max(size, assemblies.length * 2);
+            assemblies = Arrays.copyOf(assemblies, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            structure = Arrays.copyOf(structure, capacity);
+            shared = false;
+            visited = Arrays.copyOf(visited, capacity);
+            stack = Arrays.copyOf(stack, capacity);
+        }
+    }
+
     /**
-     * Check if there is a component named <code>name</code> somewhere.
+     * Replace the children of an assembly in the product structure. The list must not be altered afterwards.
      *
-     * @param name the name of the component to search for
-     * @return if somewhere in the product structure a part with the name <code>name</code> is in use.
+     * @param id    the id of the assembly.
+     * @param parts the new children of the assembly or <code>null</code> if it is not an assembly anymore.
      */
-    boolean hasPart(String name) {
-        // this lambda goes through all assemblies (until a matching part was found) and checks if this assembly
-        // contains a part with the provided name.
-        return values().stream()
-                .flatMap(toCheck -> toCheck.getParts().entrySet().stream())
-                .anyMatch(child -> child.getKey().equals(name));
+    void setParts(int id, EdgeList parts) {
+        ensureCapacity();
+        if (shared) {
+            structure = structure.clone();
+            shared = false;
+        }
+        int before = structure[id] != null ? structure[id].size() : 0;
+        statistics.changeEdges((parts != null ? parts.size() : 0) - before);
+        structure[id] = parts;
     }
 
-    // the following methods are just capsuling the recursion methods, so when using them from outside this
-    // class one does not have to know the default weight of 1. So the implementation is hidden as far as possible.
+    /**
+     * Add an assembly to the register. All assemblies using it will treat it as an assembly instead of a part from
+     * now on.
+     *
+     * @param assembly the assembly to add.
+     */
+    void register(Assembly assembly) {
+        ensureCapacity();
+        int id = assembly.getId();
+        if (hasPart(id)) {
+            // it is not counted as part anymore.
+            statistics.changeParts(-1);
+        }
+        statistics.changeAssemblies(1);
+        assemblies[id] = assembly;
+        EdgeList children = assembly.getParts();
+        setParts(id, children);
+        for (int index = 0; index < children.size(); index++) {
+            link(id, children.getId(index), children.getAmount(index));
+        }
+        invalidate(id);
+    }
 
     /**
-     * Traverse the three starting with the assembly <code>name</code> to get all assemblies, and the amount of them,
+     * Remove an assembly from the register, so that the assemblies it is used in will treat it as a part from now on.
+     *
+     * @param id the id of the assembly to remove.
+     * @return the removed assembly or <code>null</code> if there was no such assembly.
+     */
+    Assembly unregister(int id) {
+        Assembly assembly = get(id);
+        if (assembly != null) {
+            invalidate(id);
+            EdgeList children = assembly.getParts();
+            for (int index = 0; index < children.size(); index++) {
+                unlink(id, children.getId(index));
+            }
+            assemblies[id] = null;
+            setParts(id, null);
+            statistics.changeAssemblies(-1);
+            if (hasPart(id)) {
+                statistics.changeParts(1);
+            }
+        }
+        return assembly;
+    }
+
+    /**
+     * Remember that an assembly directly uses an assembly/part. If it was already used, the amount is updated.
+     *
+     * @param parent the id of the assembly that uses <code>child</code>.
+     * @param child  the id of the used assembly/part.
+     * @param amount how many of <code>child</code> are used in <code>parent</code>.
+     */
+    void link(int parent, int child, int amount) {
+        ensureCapacity();
+        if (parents[child] == null) {
+            parents[child] = new EdgeList(1);
+            if (assemblies[child] == null) {
+                statistics.changeParts(1);
+            }
+        }
+        parents[child].put(parent, amount);
+        lowLevelCodes.update(child);
+    }
+
+    /**
+     * Forget that an assembly directly used an assembly/part.
+     *
+     * @param parent the id of the assembly that used <code>child</code>.
+     * @param child  the id of the assembly/part that is no longer used by <code>parent</code>.
+     */
+    void unlink(int parent, int child) {
+        EdgeList using = parents[child];
+        if (using != null) {
+            using.removeUnordered(parent);
+            if (using.isEmpty()) {
+                parents[child] = null;
+                if (assemblies[child] == null) {
+                    statistics.changeParts(-1);
+                }
+            }
+            lowLevelCodes.update(child);
+        }
+    }
+
+    /**
+     * Drop the cached explosions of an assembly/part and all assemblies that directly or transitively use it. This
+     * has to be called every time something changes that could alter the explosion of <code>id</code>.
+     *
+     * @param id the id of the assembly/part that changed.
+     */
+    void invalidate(int id) {
+        ensureCapacity();
+        mark++;
+        int size = 0;
+        stack[size++] = id;
+        visited[id] = mark;
+        while (size > 0) {
+            int current = stack[--size];
+            if (assemblies[current] != null) {
+                assemblies[current].setExplosion(null);
+            }
+            EdgeList using = getParents(current);
+            for (int index = 0; index < using.size(); index++) {
+                int parent = using.getId(index);
+                if (visited[parent] != mark) {
+                    visited[parent] = mark;
+                    stack[size++] = parent;
+                }
+            }
+        }
+    }
+
+    /**
+     * Check if there is a component with the id <code>id</code> somewhere.
+     *
+     * @param id the id of the component to search for
+     * @return if somewhere in the product structure a part with the id <code>id</code> is in use.
+     */
+    boolean hasPart(int id) {
+        return id >= 0 && id < parents.length && parents[id] != null;
+    }
+
+    /**
+     * Obtain the assemblies that directly use an assembly/part.
+     *
+     * @param id the id of the assembly/part.
+     * @return the ids of the assemblies using <code>id</code> and how many of it they use. Do not alter it.
+     */
+    EdgeList getParents(int id) {
+        return hasPart(id) ? parents[id] : NO_EDGES;
+    }
+
+    /**
+     * Traverse the three starting with the assembly <code>id</code> to get all assemblies, and the amount of them,
      * "below" the given assembly.
      *
-     * @param name the name of the assembly to get the children of
-     * @return a mapping between the assemblies and their amount
+     * @param id the id of the assembly to get the children of
+     * @return the assemblies and their amount
      * @throws LogicException if there is no such assembly
      */
-    Map<String, Long> getAssemblies(String name) throws LogicException {
-        // standard weight=1 because this is the start of the recursion where all entries can simply be added together.
-        return getAssemblies(name, 1);
+    Quantities getAssemblies(int id) throws LogicException {
+        return new Quantities(names, explode(id).getAssemblies());
     }
 
     /**
-     * Traverse the three starting with the assembly <code>name</code> to get all leaves (representing parts) and the
+     * Traverse the three starting with the assembly <code>id</code> to get all leaves (representing parts) and the
      * amount of them.
      *
-     * @param name the name of the assembly to get the parts of
-     * @return a mapping between the assemblies and their amount
+     * @param id the id of the assembly to get the parts of
+     * @return the parts and their amount
      * @throws LogicException if there is no such assembly
      */
-    Map<String, Long> getComponents(String name) throws LogicException {
-        // standard weight=1 because this is the start of the recursion where all entries can simply be added together.
-        return getComponents(name, 1);
+    Quantities getComponents(int id) throws LogicException {
+        return new Quantities(names, explode(id).getComponents());
     }
 
-    private Map<String, Long> getAssemblies(String name, long weight) throws LogicException {
-        Map<String, Long> toReturn = new HashMap<>();
-        Assembly assembly = get(name);
-        if (assembly == null) {
-            throw new UnknownAssemblyException(hasPart(name));
-        }
-        for (Map.Entry<String, Integer> node : assembly.getParts().entrySet()) {
-            if (keySet().contains(node.getKey())) {
-                // add direct leaves
-                toReturn.merge(node.getKey(), (long) node.getValue() * weight, Long::sum);
-                // search for more
-                getAssemblies(node.getKey(), weight * node.getValue())
-                        .forEach((key, value) -> toReturn.merge(key, value, Long::sum));
+    /**
+     * Group everything below an assembly by its low-level code. The codes are kept up to date while the product
+     * structure changes and the explosion is cached, so only what changed since the last query is recomputed.
+     *
+     * @param id the id of the assembly.
+     * @return the low-level codes in ascending order, each with the assemblies and parts below the given assembly
+     * that have this code and their amount.
+     * @throws LogicException if there is no such assembly.
+     */
+    Map<Integer, Quantities> getLevels(int id) throws LogicException {
+        Explosion explosion = explode(id);
+        int[] codes = lowLevelCodes.getCodes();
+        Map<Integer, Accumulator> levels = new TreeMap<>();
+        for (Accumulator sums : new Accumulator[] {explosion.getAssemblies(), explosion.getComponents()}) {
+            for (int index = 0; index < sums.size(); index++) {
+                int child = sums.getId(index);
+                Accumulator level = levels.computeIfAbsent(codes[child], code -> new Accumulator(0));
+                if (sums.isWide(index)) {
+                    level.add(child, sums.getExactSum(index));
+                } else {
+                    level.add(child, sums.getSum(index));
+                }
             }
         }
+        Map<Integer, Quantities> toReturn = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Accumulator> level : levels.entrySet()) {
+            toReturn.put(level.getKey(), new Quantities(names, level.getValue()));
+        }
         return toReturn;
     }
 
-    private Map<String, Long> getComponents(String name, long weight) throws LogicException {
-        Assembly assembly = get(name);
-        Map<String, Long> toReturn = new HashMap<>();
-        if (assembly == null) {
-            throw new UnknownAssemblyException(hasPart(name));
-        }
-        for (Map.Entry<String, Integer> node : assembly.getParts().entrySet()) {
-            if (!containsKey(node.getKey())) {
-                // its an part, so it can be added
-                toReturn.merge(node.getKey(), (long) node.getValue() * weight, Long::sum);
-            } else {
-                // go to next step of the recursion and add the result to the list that will be returned.
-                getComponents(node.getKey(), node.getValue() * weight)
-                        .forEach((key, value) -> toReturn.merge(key, value, Long::sum));
+    /**
+     * Find every assembly that directly or transitively uses an assembly/part and how many of it each one needs.
+     *
+     * @param id the id of the assembly/part.
+     * @return the assemblies above the given assembly/part and the amount of it they consist of.
+     * @throws LogicException if there is no such assembly/part.
+     */
+    Quantities getUsages(int id) throws LogicException {
+        if (!contains(id) && !hasPart(id)) {
+            throw new UnknownAssemblyException(false);
+        }
+        if (!hasPart(id)) {
+            return new Quantities(names, new Accumulator(0));
+        }
+        // The where-used index has the same form as the product structure, just upside down. So the implosion is an
+        // explosion of the index: every assembly above is visited once and its amount is passed on to the assemblies
+        // using it. The assemblies that are not used anywhere end up as its "components".
+        Explosion implosion = new Structure(parents).explode(id, parallel);
+        Accumulator usages = implosion.getAssemblies();
+        usages.addAll(implosion.getComponents());
+        statistics.addRollUpVisits(1 + usages.size());
+        return new Quantities(names, usages);
+    }
+
+    /**
+     * Get everything that is needed to build several assemblies in one pass, see
+     * {@link Structure#explodeAll(Accumulator)}. Unlike a single explosion the result is not cached.
+     *
+     * @param ids     the ids of the assemblies to build.
+     * @param amounts how many of each assembly are needed.
+     * @return the assemblies (including the given ones) and parts and their total amount.
+     * @throws LogicException if an id is no assembly or an amount is not positive.
+     */
+    Quantities getRequirements(int[] ids, int[] amounts) throws LogicException {
+        Accumulator demands = new Accumulator(ids.length);
+        for (int index = 0; index < ids.length; index++) {
+            if (get(ids[index]) == null) {
+                throw new UnknownAssemblyException(hasPart(ids[index]));
             }
+            if (amounts[index] <= 0) {
+                throw new LogicException(ErrorMessages.NOT_POSITIVE.toString());
+            }
+            demands.add(ids[index], amounts[index]);
         }
-        return toReturn;
+        Explosion explosion = new Structure(structure).explodeAll(demands);
+        Accumulator requirements = explosion.getAssemblies();
+        requirements.addAll(explosion.getComponents());
+        statistics.addRollUpVisits(requirements.size());
+        return new Quantities(names, requirements);
+    }
+
+    /**
+     * Break an assembly down into its parts without keeping the result, see
+     * {@link Structure#streamComponents(int, NameTable, QuantityConsumer)}.
+     *
+     * @param id       the id of the assembly to explode.
+     * @param consumer receives every part below the assembly exactly once. It must not change the product structure.
+     * @throws LogicException if there is no such assembly.
+     */
+    void streamComponents(int id, QuantityConsumer consumer) throws LogicException {
+        if (get(id) == null) {
+            throw new UnknownAssemblyException(hasPart(id));
+        }
+        statistics.addRollUpVisits(new Structure(structure).streamComponents(id, names, consumer));
+    }
+
+    /**
+     * Obtain the current product structure. Unlike a snapshot it changes with this register.
+     *
+     * @return the product structure, it is only valid until the next change.
+     */
+    Structure getStructure() {
+        return new Structure(structure);
+    }
+
+    /**
+     * Take a snapshot of the product structure. Taking it is cheap, the structure is only copied when it is changed
+     * for the first time after the snapshot was taken.
+     *
+     * @return a read-only view of the current product structure, that does not change anymore.
+     */
+    Snapshot snapshot() {
+        shared = true;
+        return new Snapshot(names, names.size(), new Structure(structure), parallel);
+    }
+
+    /**
+     * Break an assembly down into all assemblies and parts it is made of. The result is cached in the assembly until
+     * something below it changes.
+     *
+     * @param id the id of the assembly to explode.
+     * @return the assemblies and components (with their amount) below the given assembly. Do not alter it.
+     * @throws LogicException if there is no such assembly.
+     */
+    private Explosion explode(int id) throws LogicException {
+        Assembly assembly = get(id);
+        if (assembly == null) {
+            throw new UnknownAssemblyException(hasPart(id));
+        }
+        Explosion explosion = assembly.getExplosion();
+        if (explosion == null) {
+            explosion = new Structure(structure).explode(id, parallel);
+            // the roll-up visits every assembly and part below the exploded assembly once.
+            statistics.addRollUpVisits(1 + explosion.getAssemblies().size() + explosion.getComponents().size());
+            assembly.setExplosion(explosion);
+        }
+        return explosion;
     }
 }
@@ -0,0 +1,115 @@
+package edu.kit.informatik.logic;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The product structure of a {@link MaterialManagement} at one point in time. A snapshot never changes, even if the
+ * material management it was taken from is altered afterwards. So it can be handed to other threads, which can query
+ * it at the same time without any locking.
+ * <p>
+ * All results are read-only views, nothing is copied.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+// Taking a snapshot does not copy anything. The lists of children are shared with the material management, since they
+// are replaced instead of altered. Only the array that maps the ids to those lists is copied by the material
+// management, when it is changed for the first time after a snapshot was taken.
+public class Snapshot {
+    private final NameTable names;
+    // names interned after the snapshot was taken are unknown to it.
+    private final int nameCount;
+    private final Structure structure;
+    private final boolean parallel;
+    private final Map<Integer, Explosion> explosions = new ConcurrentHashMap<>();
+
+    /**
+     * Create a snapshot.
+     *
+     * @param names     the names of the assemblies and parts.
+     * @param nameCount the number of names at the time the snapshot is taken.
+     * @param structure the product structure, it must not be altered afterwards.
+     * @param parallel  <code>true</code> to compute large explosions by several threads.
+     */
+    Snapshot(NameTable names, int nameCount, Structure structure, boolean parallel) {
+        this.names = names;
+        this.nameCount = nameCount;
+        this.structure = structure;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Obtain the amount of different assemblies that are required to build a given assembly.
+     *
+     * @param name the name of the assembly.
+     * @return The assembly names and their amount.
+     * @throws LogicException if there is no such assembly.
+     */
+    public Quantities getAssemblies(String name) throws LogicException {
+        return new Quantities(names, explode(find(name)).getAssemblies());
+    }
+
+    /**
+     * Obtain the amount of different parts that are required to build a given assembly.
+     *
+     * @param name the name of the assembly.
+     * @return The part names and their amount.
+     * @throws LogicException if there is no such assembly.
+     */
+    public Quantities getComponents(String name) throws LogicException {
+        return new Quantities(names, explode(find(name)).getComponents());
+    }
+
+    /**
+     * Hand the different parts that are required to build a given assembly to a consumer, without collecting them
+     * first, see {@link MaterialManagement#streamComponents(String, QuantityConsumer)}.
+     *
+     * @param name     the name of the assembly.
+     * @param consumer receives every part and its amount exactly once.
+     * @throws LogicException if there is no such assembly, in that case nothing is handed over.
+     */
+    public void streamComponents(String name, QuantityConsumer consumer) throws LogicException {
+        int id = find(name);
+        checkAssembly(id);
+        structure.streamComponents(id, names, consumer);
+    }
+
+    /**
+     * Obtain the parts/assemblies a given assembly directly consists of.
+     *
+     * @param name the name of the assembly.
+     * @return A read-only mapping between part/assembly names and their amount
+     * @throws LogicException if there is no such assembly.
+     */
+    public Map<String, Integer> printAssembly(String name) throws LogicException {
+        int id = find(name);
+        checkAssembly(id);
+        return new EdgeMap(names, structure.getParts(id));
+    }
+
+    private int find(String name) {
+        int id = names.find(name);
+        return id < nameCount ? id : NameTable.UNKNOWN;
+    }
+
+    private void checkAssembly(int id) throws LogicException {
+        if (structure.getParts(id) == null) {
+            throw new UnknownAssemblyException(id != NameTable.UNKNOWN && structure.isUsed(id));
+        }
+    }
+
+    private Explosion explode(int id) throws LogicException {
+        checkAssembly(id);
+        // two threads might compute the same explosion at the same time, but they never wait for each other.
+        Explosion explosion = explosions.get(id);
+        if (explosion == null) {
+            explosion = structure.explode(id, parallel);
+            Explosion other = explosions.putIfAbsent(id, explosion);
+            if (other != null) {
+                explosion = other;
+            }
+        }
+        return explosion;
+    }
+}
@@ -0,0 +1,266 @@
+package edu.kit.informatik.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Metrics of a material management: the size of the product structure, how much work the checks for cycles and the
+ * explosions did and how long each command and operation took. Everything is recorded as it happens, so reading the
+ * metrics costs nothing but the reading itself.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+// The sizes and the visits of the cycle checks are only changed by the thread that alters the product structure, so
+// volatile fields are enough. Explosions may run in several threads at the same time.
+public final class Statistics implements StatisticsMXBean {
+    /**
+     * The name the statistics are published under via JMX.
+     */
+    public static final String OBJECT_NAME = "edu.kit.informatik:type=Statistics";
+    private static final String COMMAND_PREFIX = "command.";
+    private static final String OPERATION_PREFIX = "operation.";
+    private static final double MEDIAN = 50;
+    private static final double P99 = 99;
+
+    private final Histogram[] operations = new Histogram[Operation.values().length];
+    private final Map<String, Histogram> commands = new ConcurrentHashMap<>();
+    private volatile long assemblies;
+    private volatile long parts;
+    private volatile long edges;
+    private volatile long cycleCheckVisits;
+    private final LongAdder rollUpVisits = new LongAdder();
+
+    /**
+     * Create empty statistics.
+     */
+    Statistics() {
+        for (Operation operation : Operation.values()) {
+            operations[operation.ordinal()] = new Histogram(OPERATION_PREFIX + operation.getName());
+        }
+    }
+
+    /**
+     * Get the latencies of an operation of the material management.
+     *
+     * @param operation the operation.
+     * @return the histogram to record the latencies in.
+     */
+    Histogram getLatencies(Operation operation) {
+        return operations[operation.ordinal()];
+    }
+
+    /**
+     * Get the latencies of a command of the user interface. Look it up once and keep it, instead of looking it up
+     * for every call.
+     *
+     * @param command the keyword of the command.
+     * @return the histogram to record the latencies in.
+     */
+    public Histogram getCommandLatencies(String command) {
+        return commands.computeIfAbsent(command, key -> new Histogram(COMMAND_PREFIX + key));
+    }
+
+    /**
+     * Get the latencies of all commands and operations that were called at least once.
+     *
+     * @return the histograms, first the commands, then the operations, each sorted by name.
+     */
+    public List<Histogram> getHistograms() {
+        List<Histogram> histograms = new ArrayList<>(new TreeMap<>(commands).values());
+        for (Histogram operation : operations) {
+            histograms.add(operation);
+        }
+        histograms.removeIf(histogram -> histogram.getCount() == 0);
+        return histograms;
+    }
+
+    /**
+     * Count assemblies that were added or removed.
+     *
+     * @param delta the number of added assemblies, negative for removed ones.
+     */
+    void changeAssemblies(int delta) {
+        assemblies += delta;
+    }
+
+    /**
+     * Count parts that are used for the first time or not anymore.
+     *
+     * @param delta the number of new parts, negative for parts that are not used anymore.
+     */
+    void changeParts(int delta) {
+        parts += delta;
+    }
+
+    /**
+     * Count edges that were added to or removed from the product structure.
+     *
+     * @param delta the number of added edges, negative for removed ones.
+     */
+    void changeEdges(int delta) {
+        edges += delta;
+    }
+
+    /**
+     * Count the assemblies/parts visited by a check for cycles.
+     *
+     * @param visits the number of visited assemblies/parts.
+     */
+    void addCycleCheckVisits(long visits) {
+        cycleCheckVisits += visits;
+    }
+
+    /**
+     * Count the assemblies/parts visited by an explosion.
+     *
+     * @param visits the number of visited assemblies/parts.
+     */
+    void addRollUpVisits(long visits) {
+        rollUpVisits.add(visits);
+    }
+
+    @Override
+    public long getAssemblies() {
+        return assemblies;
+    }
+
+    @Override
+    public long getParts() {
+        return parts;
+    }
+
+    @Override
+    public long getEdges() {
+        return edges;
+    }
+
+    @Override
+    public long getCycleCheckVisits() {
+        return cycleCheckVisits;
+    }
+
+    @Override
+    public long getRollUpVisits() {
+        return rollUpVisits.sum();
+    }
+
+    @Override
+    public Map<String, Long> getCounts() {
+        return collect(Histogram::getCount);
+    }
+
+    @Override
+    public Map<String, Long> getMeanLatencies() {
+        return collect(Histogram::getMean);
+    }
+
+    @Override
+    public Map<String, Long> getMedianLatencies() {
+        return collect(histogram -> histogram.getPercentile(MEDIAN));
+    }
+
+    @Override
+    public Map<String, Long> getP99Latencies() {
+        return collect(histogram -> histogram.getPercentile(P99));
+    }
+
+    @Override
+    public Map<String, Long> getMaxLatencies() {
+        return collect(Histogram::getMax);
+    }
+
+    private Map<String, Long> collect(ToLongFunction<Histogram> value) {
+        Map<String, Long> values = new TreeMap<>();
+        for (Histogram histogram : getHistograms()) {
+            values.put(histogram.getName(), value.applyAsLong(histogram));
+        }
+        return values;
+    }
+
+    /**
+     * The public operations of a {@link MaterialManagement}, whose latencies are recorded.
+     */
+    enum Operation {
+        /**
+         * See {@link MaterialManagement#addAssembly(String, Map)}.
+         */
+        ADD_ASSEMBLY("addAssembly"),
+        /**
+         * See {@link MaterialManagement#addAssemblies(Map)}.
+         */
+        ADD_ASSEMBLIES("addAssemblies"),
+        /**
+         * See {@link MaterialManagement#addPart(String, int, String)}.
+         */
+        ADD_PART("addPart"),
+        /**
+         * See {@link MaterialManagement#getAssemblies(String)}.
+         */
+        GET_ASSEMBLIES("getAssemblies"),
+        /**
+         * See {@link MaterialManagement#getComponents(String)}.
+         */
+        GET_COMPONENTS("getComponents"),
+        /**
+         * See {@link MaterialManagement#streamComponents(String, QuantityConsumer)}.
+         */
+        STREAM_COMPONENTS("streamComponents"),
+        /**
+         * See {@link MaterialManagement#printAssembly(String)}.
+         */
+        PRINT_ASSEMBLY("printAssembly"),
+        /**
+         * See {@link MaterialManagement#snapshot()}.
+         */
+        SNAPSHOT("snapshot"),
+        /**
+         * See {@link MaterialManagement#whereUsed(String)}.
+         */
+        WHERE_USED("whereUsed"),
+        /**
+         * See {@link MaterialManagement#getUsages(String)}.
+         */
+        GET_USAGES("getUsages"),
+        /**
+         * See {@link MaterialManagement#getRequirements(Map)}.
+         */
+        GET_REQUIREMENTS("getRequirements"),
+        /**
+         * See {@link MaterialManagement#getLevels(String)}.
+         */
+        GET_LEVELS("getLevels"),
+        /**
+         * See {@link MaterialManagement#removeAssembly(String)}.
+         */
+        REMOVE_ASSEMBLY("removeAssembly"),
+        /**
+         * See {@link MaterialManagement#removePart(String, int, String)}.
+         */
+        REMOVE_PART("removePart"),
+        /**
+         * See {@link MaterialManagement#checkpoint()}.
+         */
+        CHECKPOINT("checkpoint");
+
+        private final String name;
+
+        Operation(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Get the name of the method.
+         *
+         * @return the name of the operation, like the name of its method.
+         */
+        String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package edu.kit.informatik.logic;
+
+import java.util.Map;
+
+/**
+ * The metrics of a material management as seen by JMX, see {@link Statistics}. All durations are in nanoseconds and
+ * the maps are keyed by the name of the command or operation.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+public interface StatisticsMXBean {
+    /**
+     * Get the number of assemblies.
+     *
+     * @return the number of assemblies.
+     */
+    long getAssemblies();
+
+    /**
+     * Get the number of parts.
+     *
+     * @return the number of parts, that are used by assemblies.
+     */
+    long getParts();
+
+    /**
+     * Get the number of edges of the product structure.
+     *
+     * @return the number of direct uses of an assembly/part by an assembly.
+     */
+    long getEdges();
+
+    /**
+     * Get the work done by the checks for cycles.
+     *
+     * @return how many assemblies/parts the checks for cycles visited in total.
+     */
+    long getCycleCheckVisits();
+
+    /**
+     * Get the work done by the explosions.
+     *
+     * @return how many assemblies/parts the explosions visited in total.
+     */
+    long getRollUpVisits();
+
+    /**
+     * Get the number of calls.
+     *
+     * @return how often each command and operation was called.
+     */
+    Map<String, Long> getCounts();
+
+    /**
+     * Get the mean latencies.
+     *
+     * @return the average duration of each command and operation.
+     */
+    Map<String, Long> getMeanLatencies();
+
+    /**
+     * Get the median latencies.
+     *
+     * @return the median duration of each command and operation.
+     */
+    Map<String, Long> getMedianLatencies();
+
+    /**
+     * Get the 99th percentile of the latencies.
+     *
+     * @return the duration of each command and operation, that 99% of the calls did not exceed.
+     */
+    Map<String, Long> getP99Latencies();
+
+    /**
+     * Get the maximum latencies.
+     *
+     * @return the longest duration of each command and operation.
+     */
+    Map<String, Long> getMaxLatencies();
+}
@@ -0,0 +1,353 @@
+package edu.kit.informatik.logic;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The product structure as a mapping from the id of every assembly to its direct children. It only reads the
+ * structure and keeps no state of its own between calls apart from which ids are used, so it can be used by several
+ * threads at the same time, as long as the structure does not change meanwhile. E.g. the structure of a
+ * {@link Snapshot} never changes.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+// The product structure is not a tree but a directed acyclic graph, since an assembly can be used in several other
+// assemblies. Walking it like a tree would visit a shared assembly once per path leading to it. Instead every
+// assembly is visited once in topological order, so when it is visited the multipliers of all its parents are
+// already known and can be passed down to its children in one step.
+class Structure {
+    private static final int INITIAL_DEPTH = 16;
+    private final EdgeList[] parts;
+    private volatile boolean[] used;
+
+    /**
+     * Create a structure. The array is not copied.
+     *
+     * @param parts the children of each assembly indexed by its id, <code>null</code> for parts and unused ids.
+     */
+    Structure(EdgeList[] parts) {
+        this.parts = parts;
+    }
+
+    /**
+     * Get the direct children of an assembly.
+     *
+     * @param id the id of the assembly.
+     * @return the ids of the children and their amount or <code>null</code> if there is no such assembly. Do not
+     * alter it.
+     */
+    EdgeList getParts(int id) {
+        return id >= 0 && id < parts.length ? parts[id] : null;
+    }
+
+    /**
+     * Check if an assembly/part is used in any assembly. The first call looks at every assembly once, later calls
+     * only look up the result.
+     *
+     * @param id the id of the assembly/part.
+     * @return <code>true</code> if some assembly directly uses it.
+     */
+    boolean isUsed(int id) {
+        boolean[] known = used;
+        if (known == null) {
+            // two threads might build it at the same time, both get the same result.
+            known = new boolean[parts.length];
+            for (EdgeList children : parts) {
+                for (int index = 0; children != null && index < children.size(); index++) {
+                    int child = children.getId(index);
+                    if (child < known.length) {
+                        known[child] = true;
+                    }
+                }
+            }
+            used = known;
+        }
+        return id >= 0 && id < known.length && known[id];
+    }
+
+    /**
+     * Break an assembly down into all assemblies and parts it is made of.
+     *
+     * @param id       the id of the assembly to explode, it has to be an assembly.
+     * @param parallel <code>true</code> to split large explosions into tasks of the common {@link ForkJoinPool}.
+     * @return the assemblies and components (with their amount) below the given assembly.
+     */
+    Explosion explode(int id, boolean parallel) {
+        int childCount = parts[id].size();
+        // the tasks sort the assemblies below their own children, so the whole order is only needed sequentially.
+        if (parallel && ParallelRollUp.isWorthIt(this, id)) {
+            return ForkJoinPool.commonPool().invoke(new ParallelRollUp(this, id, 0, childCount));
+        }
+        return rollUp(id, topologicalOrder(id, false), 0, childCount);
+    }
+
+    /**
+     * Count the assemblies below an assembly, but stop as soon as there are enough. So this is cheap compared to
+     * sorting everything below a large assembly.
+     *
+     * @param id    the id of the assembly, it has to be an assembly.
+     * @param limit the number of assemblies, that is enough.
+     * @return the number of assemblies below the given one (including itself), at most <code>limit</code>.
+     */
+    int countAssemblies(int id, int limit) {
+        // a breadth first search, the found assemblies are the queue.
+        Accumulator found = new Accumulator(INITIAL_DEPTH);
+        found.add(id, 0);
+        for (int next = 0; next < found.size() && found.size() < limit; next++) {
+            EdgeList children = parts[found.getId(next)];
+            for (int index = 0; index < children.size() && found.size() < limit; index++) {
+                int child = children.getId(index);
+                if (parts[child] != null && found.indexOf(child) < 0) {
+                    found.add(child, 0);
+                }
+            }
+        }
+        return Math.min(found.size(), limit);
+    }
+
+    /**
+     * Roll up some of the direct children of an assembly. Only the assemblies below these children are visited.
+     *
+     * @param id   the id of the exploded assembly.
+     * @param from the index of the first direct child of the exploded assembly to roll up.
+     * @param to   the index of the last direct child to roll up (exclusive).
+     * @return the amount of the assemblies and parts below the given children.
+     */
+    Explosion rollUp(int id, int from, int to) {
+        EdgeList roots = parts[id];
+        PostOrder postOrder = new PostOrder(false);
+        for (int index = from; index < to; index++) {
+            if (parts[roots.getId(index)] != null) {
+                postOrder.visit(roots.getId(index));
+            }
+        }
+        // like in explodeAll, the reversed post order of several assemblies is a topological order.
+        return rollUp(id, postOrder.toArray(true), from, to);
+    }
+
+    /**
+     * Roll up some of the direct children of an assembly along a topological order.
+     *
+     * @param id    the id of the exploded assembly.
+     * @param order at least the assemblies below the given children in topological order. Other assemblies are
+     *              skipped.
+     * @param from  the index of the first direct child of the exploded assembly to roll up.
+     * @param to    the index of the last direct child to roll up (exclusive).
+     * @return the amount of the assemblies and parts below the given children.
+     */
+    private Explosion rollUp(int id, int[] order, int from, int to) {
+        Accumulator assemblySums = new Accumulator(order.length);
+        Accumulator componentSums = new Accumulator(order.length);
+        // the start of the roll-up has the standard weight=1, so the direct children just have their own amount.
+        EdgeList roots = parts[id];
+        for (int index = from; index < to; index++) {
+            int child = roots.getId(index);
+            (parts[child] != null ? assemblySums : componentSums).add(child, roots.getAmount(index));
+        }
+        for (int current : order) {
+            int position = assemblySums.indexOf(current);
+            if (position < 0) {
+                // the exploded assembly itself or only below children that are not rolled up here.
+                continue;
+            }
+            passOn(current, assemblySums, position, assemblySums, componentSums);
+        }
+        return new Explosion(assemblySums, componentSums);
+    }
+
+    /**
+     * Break several assemblies down at once. The assemblies below them are sorted together, so an assembly shared by
+     * several of them is only visited once, with the amounts of all of them.
+     *
+     * @param demands the ids of the assemblies to explode and how many of each are needed, they have to be
+     *                assemblies. It is not changed.
+     * @return all assemblies (including the given ones) and all parts needed, each with its total amount.
+     */
+    Explosion explodeAll(Accumulator demands) {
+        PostOrder postOrder = new PostOrder(false);
+        for (int index = 0; index < demands.size(); index++) {
+            postOrder.visit(demands.getId(index));
+        }
+        // the post orders of the single assemblies do not overlap, so the reversed whole is a topological order of
+        // everything below any of them.
+        int[] order = postOrder.toArray(true);
+        Accumulator assemblySums = new Accumulator(order.length);
+        Accumulator componentSums = new Accumulator(order.length);
+        assemblySums.addAll(demands);
+        for (int current : order) {
+            passOn(current, assemblySums, assemblySums.indexOf(current), assemblySums, componentSums);
+        }
+        return new Explosion(assemblySums, componentSums);
+    }
+
+    /**
+     * Break an assembly down into its parts without keeping the result. Each part is handed over as soon as its
+     * amount is complete, so no roll-up has to be cached or sorted and the memory needed only depends on the size of
+     * the product structure. The parts are handed over in topological order, not sorted in any way.
+     *
+     * @param id       the id of the assembly to explode, it has to be an assembly.
+     * @param names    to translate the ids of the parts into names.
+     * @param consumer receives every part below the assembly exactly once. It must not change the product structure.
+     * @return the number of visited assemblies and parts.
+     */
+    int streamComponents(int id, NameTable names, QuantityConsumer consumer) {
+        // here the parts are part of the order as well. When a part is reached, all assemblies using it are done, so
+        // its amount can not change anymore.
+        int[] order = topologicalOrder(id, true);
+        Accumulator sums = new Accumulator(order.length);
+        sums.add(id, 1);
+        for (int current : order) {
+            int position = sums.indexOf(current);
+            if (parts[current] != null) {
+                passOn(current, sums, position, sums, sums);
+            } else {
+                consumer.accept(names.getName(current), sums.getSum(position),
+                        sums.isWide(position) ? sums.getExactSum(position) : null);
+            }
+        }
+        return order.length;
+    }
+
+    /**
+     * Pass the amount of an assembly on to its children.
+     *
+     * @param current       the id of the assembly.
+     * @param weights       contains the amount of <code>current</code>.
+     * @param position      the index of <code>current</code> in <code>weights</code>.
+     * @param assemblySums  receives the children that are assemblies.
+     * @param componentSums receives the children that are parts.
+     */
+    private void passOn(int current, Accumulator weights, int position, Accumulator assemblySums,
+                        Accumulator componentSums) {
+        long weight = weights.getSum(position);
+        // a weight that does not fit into a long is so rare, that it does not matter how slow it is.
+        BigInteger wideWeight = weights.isWide(position) ? weights.getExactSum(position) : null;
+        EdgeList children = parts[current];
+        for (int index = 0; index < children.size(); index++) {
+            int child = children.getId(index);
+            // if it is a part, it is added to the components
+            Accumulator sums = parts[child] != null ? assemblySums : componentSums;
+            if (wideWeight == null) {
+                sums.addProduct(child, weight, children.getAmount(index));
+            } else {
+                sums.add(child, wideWeight.multiply(BigInteger.valueOf(children.getAmount(index))));
+            }
+        }
+    }
+
+    /**
+     * Sort all assemblies reachable from a given assembly, so that every assembly is listed before its children.
+     *
+     * @param id        the id of the assembly to start with, it will be the first element of the result.
+     * @param withParts <code>true</code> to list the parts below <code>id</code> as well.
+     * @return the assemblies (and parts) below <code>id</code> (including itself) in topological order.
+     */
+    int[] topologicalOrder(int id, boolean withParts) {
+        PostOrder postOrder = new PostOrder(withParts);
+        postOrder.visit(id);
+        return postOrder.toArray(true);
+    }
+
+    /**
+     * Sort all assemblies, so that every assembly is listed after the assemblies it consists of.
+     *
+     * @return the ids of all assemblies in reverse topological order.
+     */
+    int[] bottomUp() {
+        PostOrder postOrder = new PostOrder(false);
+        for (int id = 0; id < parts.length; id++) {
+            if (parts[id] != null) {
+                postOrder.visit(id);
+            }
+        }
+        return postOrder.toArray(false);
+    }
+
+    private static int[] ensureCapacity(int[] array, int index) {
+        return index < array.length ? array : Arrays.copyOf(array, array.length * 2);
+    }
+
+    /**
+     * An iterative depth first search (so deep structures do not overflow the stack), that lists an assembly when
+     * all of its children are done. Reversing this post order results in a topological order.
+     */
+    // All scratch space only grows with the visited part of the structure, so exploding a small assembly stays cheap
+    // in a large structure. The visited ids are kept in an accumulator, the sums are not used.
+    private final class PostOrder {
+        private final boolean withParts;
+        private final Accumulator visited = new Accumulator(INITIAL_DEPTH);
+        private int[] stack = new int[INITIAL_DEPTH];
+        private int[] indices = new int[INITIAL_DEPTH];
+        private int[] order = new int[INITIAL_DEPTH];
+        private int count;
+
+        /**
+         * Create an empty post order.
+         *
+         * @param withParts <code>true</code> to list the parts as well.
+         */
+        PostOrder(boolean withParts) {
+            this.withParts = withParts;
+        }
+
+        /**
+         * List an assembly and everything below it, that has not been listed yet.
+         *
+         * @param id the id of the assembly.
+         */
+        void visit(int id) {
+            if (visited.indexOf(id) >= 0) {
+                return;
+            }
+            int depth = 0;
+            visited.add(id, 0);
+            stack[depth] = id;
+            indices[depth++] = 0;
+            while (depth > 0) {
+                EdgeList children = parts[stack[depth - 1]];
+                int index = indices[depth - 1]++;
+                if (index < children.size()) {
+                    int child = children.getId(index);
+                    if (visited.indexOf(child) < 0 && (withParts || parts[child] != null)) {
+                        visited.add(child, 0);
+                        if (parts[child] == null) {
+                            // a part has no children, so it is done right away.
+                            append(child);
+                        } else {
+                            stack = ensureCapacity(stack, depth);
+                            indices = ensureCapacity(indices, depth);
+                            stack[depth] = child;
+                            indices[depth++] = 0;
+                        }
+                    }
+                } else {
+                    append(stack[--depth]);
+                }
+            }
+        }
+
+        private void append(int id) {
+            order = ensureCapacity(order, count);
+            order[count++] = id;
+        }
+
+        /**
+         * Obtain the listed ids.
+         *
+         * @param reversed <code>true</code> for the topological order, <code>false</code> for the post order.
+         * @return the listed ids.
+         */
+        int[] toArray(boolean reversed) {
+            if (!reversed) {
+                return Arrays.copyOf(order, count);
+            }
+            int[] result = new int[count];
+            for (int index = 0; index < count; index++) {
+                result[index] = order[count - 1 - index];
+            }
+            return result;
+        }
+    }
+}
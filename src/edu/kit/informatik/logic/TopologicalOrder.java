@@ -0,0 +1,201 @@
+package edu.kit.informatik.logic;
+
+import java.util.Arrays;
+
+/**
+ * A topological order of all assemblies and parts of a {@link Register}, that is maintained while the product
+ * structure grows. Every assembly is ordered before all of its children. So a new child that is already ordered
+ * behind its assembly can never create a cycle. Only if it is not, the assemblies/parts between the two positions are
+ * searched and, if there is no cycle, moved (dynamic topological sort by Pearce and Kelly).
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+// Removing a child never invalidates a topological order, so the order only has to be told about new children.
+class TopologicalOrder {
+    // a position of 0 is never assigned, it marks ids that are not ordered yet.
+    private static final int UNORDERED = 0;
+    private final Register register;
+    private int[] positions = new int[0];
+    private int first;
+    private int last;
+    // instead of clearing the marks of visited ids after each search, every search uses a new mark.
+    private int[] visited = new int[0];
+    private int mark;
+    private int[] forward = new int[0];
+    private int[] backward = new int[0];
+
+    /**
+     * Create an empty order for a register.
+     *
+     * @param register the register whose product structure should be ordered.
+     */
+    TopologicalOrder(Register register) {
+        this.register = register;
+    }
+
+    /**
+     * Check if an assembly can use all given assemblies/parts and if so order them behind the assembly.
+     *
+     * @param parent   the id of the assembly.
+     * @param children the assemblies/parts it should use.
+     * @return <code>false</code> if using one of the children would create a cycle.
+     */
+    boolean insert(int parent, EdgeList children) {
+        for (int index = 0; index < children.size(); index++) {
+            if (!insert(parent, children.getId(index))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check if an assembly can use an assembly/part and if so order it behind the assembly.
+     *
+     * @param parent the id of the assembly.
+     * @param child  the id of the assembly/part it should use.
+     * @return <code>false</code> if using the child would create a cycle.
+     */
+    boolean insert(int parent, int child) {
+        if (parent == child) {
+            return false;
+        }
+        ensureCapacity();
+        // Ids that are new are placed at the outer ends of the order, where they do not need to be moved. Since the
+        // parent is looked at first, a new assembly using new parts does not need any reordering.
+        if (positions[parent] == UNORDERED) {
+            positions[parent] = --first;
+        }
+        if (positions[child] == UNORDERED) {
+            positions[child] = ++last;
+        }
+        int upperBound = positions[parent];
+        int lowerBound = positions[child];
+        if (lowerBound > upperBound) {
+            return true;
+        }
+        mark++;
+        int forwardSize = searchForward(child, parent, upperBound);
+        if (forwardSize < 0) {
+            return false;
+        }
+        int backwardSize = searchBackward(parent, lowerBound);
+        reorder(backwardSize, forwardSize);
+        return true;
+    }
+
+    /**
+     * Get the position of an assembly/part in this order. Every assembly is placed before all of its children.
+     *
+     * @param id the id of the assembly/part.
+     * @return the position, it is only comparable to the positions of other ids until the next insert.
+     */
+    int getPosition(int id) {
+        return id < positions.length ? positions[id] : UNORDERED;
+    }
+
+    private void ensureCapacity() {
+        int size = register.getNames().size();
+        if (positions.length < size) {
+            int capacity = Math.max(size, positions.length * 2);
+            positions = Arrays.copyOf(positions, capacity);
+            visited = Arrays.copyOf(visited, capacity);
+            forward = Arrays.copyOf(forward, capacity);
+            backward = Arrays.copyOf(backward, capacity);
+        }
+    }
+
+    /**
+     * Collect everything below <code>start</code> that is placed before <code>upperBound</code> in {@link #forward}.
+     *
+     * @return the number of found assemblies/parts or <code>-1</code> if <code>parent</code> was reached, what would
+     * be a cycle.
+     */
+    private int searchForward(int start, int parent, int upperBound) {
+        // the found ids are used as stack at the same time, everything behind next still has to be visited.
+        int size = 0;
+        forward[size++] = start;
+        visited[start] = mark;
+        for (int next = 0; next < size; next++) {
+            Assembly assembly = register.get(forward[next]);
+            if (assembly == null) {
+                continue;
+            }
+            EdgeList children = assembly.getParts();
+            for (int index = 0; index < children.size(); index++) {
+                int child = children.getId(index);
+                if (child == parent) {
+                    register.getStatistics().addCycleCheckVisits(next + 1);
+                    return -1;
+                }
+                if (positions[child] < upperBound && visited[child] != mark) {
+                    visited[child] = mark;
+                    forward[size++] = child;
+                }
+            }
+        }
+        register.getStatistics().addCycleCheckVisits(size);
+        return size;
+    }
+
+    /**
+     * Collect everything above <code>start</code> that is placed behind <code>lowerBound</code> in {@link #backward}.
+     *
+     * @return the number of found assemblies.
+     */
+    private int searchBackward(int start, int lowerBound) {
+        int size = 0;
+        backward[size++] = start;
+        visited[start] = mark;
+        for (int next = 0; next < size; next++) {
+            EdgeList parents = register.getParents(backward[next]);
+            for (int index = 0; index < parents.size(); index++) {
+                int parent = parents.getId(index);
+                if (positions[parent] > lowerBound && visited[parent] != mark) {
+                    visited[parent] = mark;
+                    backward[size++] = parent;
+                }
+            }
+        }
+        register.getStatistics().addCycleCheckVisits(size);
+        return size;
+    }
+
+    /**
+     * Reuse the positions of both groups, but place everything above the new parent before everything below the new
+     * child. Within a group the relative order stays the same.
+     */
+    private void reorder(int backwardSize, int forwardSize) {
+        int[] above = sortByPosition(backward, backwardSize);
+        int[] below = sortByPosition(forward, forwardSize);
+        int[] slots = new int[backwardSize + forwardSize];
+        for (int index = 0; index < backwardSize; index++) {
+            slots[index] = positions[above[index]];
+        }
+        for (int index = 0; index < forwardSize; index++) {
+            slots[backwardSize + index] = positions[below[index]];
+        }
+        Arrays.sort(slots);
+        for (int index = 0; index < backwardSize; index++) {
+            positions[above[index]] = slots[index];
+        }
+        for (int index = 0; index < forwardSize; index++) {
+            positions[below[index]] = slots[backwardSize + index];
+        }
+    }
+
+    private int[] sortByPosition(int[] ids, int size) {
+        // sorting the positions together with the ids, by packing both into one long.
+        long[] packed = new long[size];
+        for (int index = 0; index < size; index++) {
+            packed[index] = ((long) positions[ids[index]] << Integer.SIZE) | ids[index];
+        }
+        Arrays.sort(packed);
+        int[] sorted = new int[size];
+        for (int index = 0; index < size; index++) {
+            sorted[index] = (int) packed[index];
+        }
+        return sorted;
+    }
+}
@@ -0,0 +1,465 @@
+package edu.kit.informatik.logic;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only file that contains every successful change of a {@link MaterialManagement}, so its state can be
+ * restored by replaying the changes.
+ * <p>
+ * The changes are collected in memory and written in frames. A frame contains all changes that were made since the
+ * last frame was written, so several threads that wait for their changes to be on the disk share a single fsync
+ * (group commit). Every frame starts with its length and a checksum, so a frame that was not written completely, e.g.
+ * because of a crash, is detected and dropped when the log is opened again.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+// The file starts with MAGIC, VERSION and the number of the checkpoint the log continues. The records inside a frame
+// start with their type, all numbers are stored as variable length integers (7 bits per byte). Names are only written
+// once, in a NAME record, afterwards they are referred to by their number in the log, which is the number of NAME
+// records in front of them.
+class WriteAheadLog implements Closeable {
+    private static final int MAGIC = 0x424f4d4c;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES + Long.BYTES;
+    private static final int FRAME_HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int INITIAL_CAPACITY = 1 << 12;
+    private static final byte NAME = 0;
+    private static final byte ADD_ASSEMBLY = 1;
+    private static final byte ADD_PART = 2;
+    private static final byte REMOVE_PART = 3;
+    private static final byte REMOVE_ASSEMBLY = 4;
+    private static final int VARINT_BITS = 7;
+    private static final int VARINT_MASK = (1 << VARINT_BITS) - 1;
+
+    private final FileChannel channel;
+    private final NameTable names;
+    private long base;
+    // the number in the log + 1 for each id, 0 if the name has not been written yet.
+    private int[] logIds = new int[0];
+    private int nameCount;
+    // the changes that have not been written yet.
+    private byte[] pending = new byte[INITIAL_CAPACITY];
+    private int pendingSize;
+    // how many bytes of changes have been appended and how many of them are on the disk.
+    private long appended;
+    private long durable;
+    private boolean syncing;
+    private IOException failure;
+
+    /**
+     * Open a log. If it does not exist yet, it is created. Before changes are appended, the log has to be replayed.
+     *
+     * @param file  the file of the log.
+     * @param names the names of the material management that is logged.
+     * @param base  the number of the checkpoint a new log continues, 0 for the empty product structure.
+     * @throws IOException if the file can not be opened or is not a log.
+     */
+    WriteAheadLog(Path file, NameTable names, long base) throws IOException {
+        this.names = names;
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                writeHeader(base);
+            } else {
+                ByteBuffer header = readFully(0, HEADER_SIZE);
+                if (header == null || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                    throw new IOException(file + " is not a log of this program.");
+                }
+                this.base = header.getLong();
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Get the number of the checkpoint this log continues.
+     *
+     * @return the number of the checkpoint, 0 for the empty product structure.
+     */
+    long getBase() {
+        return base;
+    }
+
+    /**
+     * Drop all changes, since they are contained in a checkpoint now. Changes that have been appended, but are not on
+     * the disk yet, are dropped as well, so they must be part of the checkpoint.
+     *
+     * @param base the number of the checkpoint that contains all changes so far.
+     * @throws IOException if the log can not be written. The log can not be used anymore in that case.
+     */
+    synchronized void reset(long base) throws IOException {
+        while (syncing) {
+            waitForSync();
+        }
+        pendingSize = 0;
+        durable = appended;
+        Arrays.fill(logIds, 0);
+        nameCount = 0;
+        try {
+            channel.truncate(0);
+            writeHeader(base);
+            channel.position(HEADER_SIZE);
+        } catch (IOException e) {
+            failure = e;
+            throw e;
+        }
+    }
+
+    private void writeHeader(long base) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).putLong(base);
+        header.flip();
+        writeFully(header, 0);
+        channel.force(true);
+        this.base = base;
+    }
+
+    /**
+     * Apply all changes in the log to a material management, that is in the state the log continues, see
+     * {@link #getBase()}. A frame at the end that was not written completely is removed from the file. A damaged
+     * frame anywhere else is not removed, since the frames behind it contain committed changes.
+     *
+     * @param management the material management to restore.
+     * @throws IOException if the log can not be read, is damaged before its end or does not fit to the material
+     *                     management.
+     */
+    void replay(MaterialManagement management) throws IOException {
+        long position = HEADER_SIZE;
+        int[] ids = new int[INITIAL_CAPACITY];
+        ByteBuffer frame;
+        while ((frame = readFrame(position)) != null) {
+            position += FRAME_HEADER_SIZE + frame.remaining();
+            while (frame.hasRemaining()) {
+                byte type = frame.get();
+                if (type == NAME) {
+                    byte[] name = new byte[readVarint(frame)];
+                    frame.get(name);
+                    if (nameCount == ids.length) {
+                        ids = Arrays.copyOf(ids, nameCount * 2);
+                    }
+                    ids[nameCount] = names.intern(new String(name, StandardCharsets.UTF_8));
+                    ensureCapacity(ids[nameCount]);
+                    logIds[ids[nameCount]] = ++nameCount;
+                } else {
+                    apply(management, type, frame, ids);
+                }
+            }
+        }
+        // anything behind the last complete frame is the rest of an interrupted write.
+        channel.truncate(position);
+        channel.position(position);
+    }
+
+    private void apply(MaterialManagement management, byte type, ByteBuffer frame, int[] ids) throws IOException {
+        try {
+            switch (type) {
+                case ADD_ASSEMBLY:
+                    int id = ids[readVarint(frame)];
+                    int[] childIds = new int[readVarint(frame)];
+                    int[] amounts = new int[childIds.length];
+                    for (int index = 0; index < childIds.length; index++) {
+                        childIds[index] = ids[readVarint(frame)];
+                        amounts[index] = readVarint(frame);
+                    }
+                    management.addAssembly(id, childIds, amounts);
+                    break;
+                case ADD_PART:
+                    management.addPart(ids[readVarint(frame)], readVarint(frame), ids[readVarint(frame)]);
+                    break;
+                case REMOVE_PART:
+                    management.removePart(ids[readVarint(frame)], readVarint(frame), ids[readVarint(frame)]);
+                    break;
+                case REMOVE_ASSEMBLY:
+                    management.removeAssembly(ids[readVarint(frame)]);
+                    break;
+                default:
+                    throw new IOException("unknown record in the log: " + type);
+            }
+        } catch (LogicException | RuntimeException e) {
+            // only successful changes are logged, so replaying them can not fail.
+            throw new IOException("the log is corrupted: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Append the creation of an assembly.
+     *
+     * @param id       the id of the new assembly.
+     * @param childIds the ids of the assemblies/parts it consists of.
+     * @param amounts  the amount of each of them.
+     */
+    synchronized void addAssembly(int id, int[] childIds, int[] amounts) {
+        writeName(id);
+        for (int childId : childIds) {
+            writeName(childId);
+        }
+        writeByte(ADD_ASSEMBLY);
+        writeId(id);
+        writeVarint(childIds.length);
+        for (int index = 0; index < childIds.length; index++) {
+            writeId(childIds[index]);
+            writeVarint(amounts[index]);
+        }
+    }
+
+    /**
+     * Append the addition of assemblies/parts to an assembly.
+     *
+     * @param id     the id of the assembly.
+     * @param amount how many were added.
+     * @param partId the id of the added assembly/part.
+     */
+    synchronized void addPart(int id, int amount, int partId) {
+        writeChange(ADD_PART, id, amount, partId);
+    }
+
+    /**
+     * Append the removal of assemblies/parts from an assembly.
+     *
+     * @param id     the id of the assembly.
+     * @param amount how many were removed.
+     * @param partId the id of the removed assembly/part.
+     */
+    synchronized void removePart(int id, int amount, int partId) {
+        writeChange(REMOVE_PART, id, amount, partId);
+    }
+
+    /**
+     * Append the removal of an assembly.
+     *
+     * @param id the id of the removed assembly.
+     */
+    synchronized void removeAssembly(int id) {
+        writeName(id);
+        writeByte(REMOVE_ASSEMBLY);
+        writeId(id);
+    }
+
+    /**
+     * Check that the log can still be written, before a change is made. Otherwise the change could not be stored.
+     *
+     * @throws LogFailedException if writing the log failed before.
+     */
+    synchronized void ensureWritable() {
+        if (failure != null) {
+            throw new LogFailedException(failure);
+        }
+    }
+
+    /**
+     * Wait until all changes that have been appended so far are on the disk. If another thread is writing right now,
+     * this waits for it and then writes all changes that have been appended meanwhile at once.
+     *
+     * @throws LogFailedException if the log can not be written. The log can not be used anymore in that case.
+     */
+    void sync() {
+        byte[] frame;
+        int frameSize;
+        long end;
+        synchronized (this) {
+            long target = appended;
+            while (syncing && durable < target) {
+                waitForSync();
+            }
+            if (failure != null) {
+                throw new LogFailedException(failure);
+            }
+            if (durable >= target) {
+                return;
+            }
+            // this thread writes everything that is pending, including the changes of other threads.
+            syncing = true;
+            frame = pending;
+            frameSize = pendingSize;
+            end = appended;
+            pending = new byte[Math.max(INITIAL_CAPACITY, pendingSize)];
+            pendingSize = 0;
+        }
+        IOException error = null;
+        try {
+            writeFrame(frame, frameSize);
+        } catch (IOException e) {
+            error = e;
+        }
+        synchronized (this) {
+            syncing = false;
+            if (error == null) {
+                durable = end;
+            } else {
+                failure = error;
+            }
+            notifyAll();
+            if (failure != null) {
+                throw new LogFailedException(failure);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void waitForSync() {
+        try {
+            wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LogFailedException(new IOException("interrupted while waiting for the log", e));
+        }
+    }
+
+    private void writeFrame(byte[] frame, int size) throws IOException {
+        CRC32 checksum = new CRC32();
+        checksum.update(frame, 0, size);
+        ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_SIZE).putInt(size).putInt((int) checksum.getValue());
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        ByteBuffer body = ByteBuffer.wrap(frame, 0, size);
+        while (body.hasRemaining()) {
+            channel.write(body);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Read the frame at a position.
+     *
+     * @return the content of the frame or <code>null</code> if there is no complete frame, because the log ends or
+     * the last frame was not written completely.
+     * @throws IOException if the frame is damaged, but is not the last one.
+     */
+    // A write that was interrupted can only damage the last frame: its header or body is cut off, its body is not
+    // completely on the disk, although the file is already long enough, or the file was extended by zeros only.
+    private ByteBuffer readFrame(long position) throws IOException {
+        long end = channel.size();
+        ByteBuffer header = readFully(position, FRAME_HEADER_SIZE);
+        if (header == null) {
+            return null;
+        }
+        int size = header.getInt();
+        int expected = header.getInt();
+        if (size <= 0) {
+            if (isZero(position, end)) {
+                return null;
+            }
+            throw new IOException("the log is damaged at byte " + position + ": invalid frame length " + size);
+        }
+        if (size > end - position - FRAME_HEADER_SIZE) {
+            return null;
+        }
+        ByteBuffer frame = readFully(position + FRAME_HEADER_SIZE, size);
+        CRC32 checksum = new CRC32();
+        checksum.update(frame.array(), 0, size);
+        if ((int) checksum.getValue() == expected) {
+            return frame;
+        }
+        if (position + FRAME_HEADER_SIZE + size == end) {
+            return null;
+        }
+        throw new IOException("the log is damaged at byte " + position + ": wrong checksum, but more frames follow.");
+    }
+
+    private boolean isZero(long from, long to) throws IOException {
+        for (long position = from; position < to; position += INITIAL_CAPACITY) {
+            ByteBuffer chunk = readFully(position, (int) Math.min(INITIAL_CAPACITY, to - position));
+            while (chunk != null && chunk.hasRemaining()) {
+                if (chunk.get() != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private ByteBuffer readFully(long position, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return null;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    private void writeChange(byte type, int id, int amount, int partId) {
+        writeName(id);
+        writeName(partId);
+        writeByte(type);
+        writeId(id);
+        writeVarint(amount);
+        writeId(partId);
+    }
+
+    private void ensureCapacity(int id) {
+        if (id >= logIds.length) {
+            logIds = Arrays.copyOf(logIds, Math.max(id + 1, logIds.length * 2));
+        }
+    }
+
+    private void writeName(int id) {
+        ensureCapacity(id);
+        if (logIds[id] == 0) {
+            byte[] name = names.getName(id).getBytes(StandardCharsets.UTF_8);
+            writeByte(NAME);
+            writeVarint(name.length);
+            for (byte character : name) {
+                writeByte(character);
+            }
+            logIds[id] = ++nameCount;
+        }
+    }
+
+    private void writeId(int id) {
+        writeVarint(logIds[id] - 1);
+    }
+
+    private void writeVarint(int value) {
+        int rest = value;
+        while ((rest & ~VARINT_MASK) != 0) {
+            writeByte((byte) ((rest & VARINT_MASK) | (VARINT_MASK + 1)));
+            rest >>>= VARINT_BITS;
+        }
+        writeByte((byte) rest);
+    }
+
+    private void writeByte(byte value) {
+        if (pendingSize == pending.length) {
+            pending = Arrays.copyOf(pending, pendingSize * 2);
+        }
+        pending[pendingSize++] = value;
+        appended++;
+    }
+
+    private static int readVarint(ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = buffer.get();
+            value |= (current & VARINT_MASK) << shift;
+            shift += VARINT_BITS;
+        } while ((current & (VARINT_MASK + 1)) != 0);
+        return value;
+    }
+}
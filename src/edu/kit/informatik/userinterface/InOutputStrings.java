@@ -33,6 +33,60 @@ public enum InOutputStrings {
      * Symbol for a definition.
      */
     DEFINITION_SEPARATOR("="),
+    /**
+     * Symbol for adding to an assembly.
+     */
+    ADDITION("+"),
+    /**
+     * Symbol for removing from an assembly.
+     */
+    SUBTRACTION("-"),
+    /**
+     * Command line option to buffer the output, for piping in scripts.
+     */
+    BATCH_OPTION("--batch"),
+    /**
+     * Command line option to serve clients over the network instead of the console. It is followed by the port.
+     */
+    SERVER_OPTION("--server"),
+    /**
+     * Command line option to store all changes in a log, it is followed by the file of the log. On start the state
+     * stored in the log is restored.
+     */
+    LOG_OPTION("--log"),
+    /**
+     * Command line option to load and write checkpoints, it is followed by the file of the checkpoint. On start the
+     * state stored in the checkpoint is restored, before the log is replayed.
+     */
+    CHECKPOINT_OPTION("--checkpoint"),
+    /**
+     * If the port of the server is missing or invalid.
+     */
+    INVALID_PORT("the server needs a port between 0 and 65535."),
+    /**
+     * If the log is missing, can not be read or written.
+     */
+    INVALID_LOG("the log can not be used. "),
+    /**
+     * If the checkpoint can not be read or written.
+     */
+    INVALID_CHECKPOINT("the checkpoint can not be used. "),
+    /**
+     * If the statistics can not be published via JMX.
+     */
+    INVALID_STATISTICS("the statistics can not be published. "),
+    /**
+     * If the file to import can not be read.
+     */
+    INVALID_IMPORT("the file can not be imported. "),
+    /**
+     * Clients of the server may not read the files of the machine it runs on.
+     */
+    REMOTE_IMPORT("files can only be imported on the console of the server."),
+    /**
+     * The position of an error in a file, followed by the error itself.
+     */
+    LINE("line %d: "),
     /**
      * Signals the user command went well, and there is no other output to show.
      */
@@ -42,6 +96,10 @@ public enum InOutputStrings {
      * off and should try a way smaller number.
      */
     WAY_TO_HUGE("This number is way to big. Try something less or equals 1000."),
+    /**
+     * If the limit or the offset of a page is grater than {@link Integer#MAX_VALUE}.
+     */
+    PAGE_TOO_LARGE("the limit and the offset of a page have to be at most " + Integer.MAX_VALUE + "."),
     /**
      * Signal an assembly does not have any more assembly it consists of.
      */
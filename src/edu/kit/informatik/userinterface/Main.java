@@ -1,5 +1,20 @@
 package edu.kit.informatik.userinterface;
 
+import edu.kit.informatik.ReadWrite;
+import edu.kit.informatik.logic.ConcurrentMaterialManagement;
+import edu.kit.informatik.logic.MaterialManagement;
+import edu.kit.informatik.logic.Statistics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * The entry point of the program.
@@ -8,15 +23,99 @@ package edu.kit.informatik.userinterface;
  * @version 1.0
  */
 public class Main {
+    private static final int MAX_PORT = 65535;
 
     /**
      * This method is the first code that is executed in this program. It initiates the user
      * interaction.
      *
-     * @param args the command line arguments
+     * @param args the command line arguments. With {@link InOutputStrings#BATCH_OPTION} the output is buffered, which
+     *             is much faster when a script is piped in. With {@link InOutputStrings#SERVER_OPTION} and a port,
+     *             clients are served over the network instead. With {@link InOutputStrings#LOG_OPTION} and a file,
+     *             all changes are stored in that file and restored on the next start. With
+     *             {@link InOutputStrings#CHECKPOINT_OPTION} and a file, the state is loaded from that file and the
+     *             checkpoint command writes to it. The statistics of the material management are published via JMX.
      */
     public static void main(String[] args) {
-        Session session = new Session();
+        List<String> options = Arrays.asList(args);
+        ReadWrite console = ReadWrite.console();
+        boolean server = options.contains(InOutputStrings.SERVER_OPTION.toString());
+        MaterialManagement management = server ? new ConcurrentMaterialManagement() : new MaterialManagement();
+        publish(management.getStatistics());
+        if (options.contains(InOutputStrings.CHECKPOINT_OPTION.toString())
+                && !useCheckpoint(getValue(options, InOutputStrings.CHECKPOINT_OPTION), management, console)) {
+            return;
+        }
+        if (options.contains(InOutputStrings.LOG_OPTION.toString())
+                && !useLog(getValue(options, InOutputStrings.LOG_OPTION), management, console)) {
+            return;
+        }
+        if (server) {
+            serve(getValue(options, InOutputStrings.SERVER_OPTION), management, console);
+            return;
+        }
+        boolean batch = options.contains(InOutputStrings.BATCH_OPTION.toString());
+        Session session = new Session(console, management, batch);
         session.run();
     }
+
+    private static String getValue(List<String> options, InOutputStrings option) {
+        int index = options.indexOf(option.toString()) + 1;
+        return index > 0 && index < options.size() ? options.get(index) : null;
+    }
+
+    private static void publish(Statistics statistics) {
+        // the program works without the statistics being published, so this is not a reason to stop. The warning goes
+        // to the standard error, so it never mixes with the answers to the commands.
+        try {
+            ObjectName name = new ObjectName(Statistics.OBJECT_NAME);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(statistics, name);
+        } catch (JMException e) {
+            System.err.println("Error, " + InOutputStrings.INVALID_STATISTICS + e.getMessage());
+        }
+    }
+
+    private static boolean useCheckpoint(String file, MaterialManagement management, ReadWrite console) {
+        try {
+            if (file == null) {
+                throw new IOException("The file is missing.");
+            }
+            management.useCheckpoint(Paths.get(file));
+            return true;
+        } catch (IOException | InvalidPathException e) {
+            console.writeError(InOutputStrings.INVALID_CHECKPOINT + e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean useLog(String file, MaterialManagement management, ReadWrite console) {
+        try {
+            if (file == null) {
+                throw new IOException("The file is missing.");
+            }
+            management.useLog(Paths.get(file));
+            return true;
+        } catch (IOException | UncheckedIOException | InvalidPathException e) {
+            console.writeError(InOutputStrings.INVALID_LOG + e.getMessage());
+            return false;
+        }
+    }
+
+    private static void serve(String port, MaterialManagement management, ReadWrite console) {
+        int number;
+        try {
+            number = port == null ? -1 : Integer.parseInt(port);
+        } catch (NumberFormatException e) {
+            number = -1;
+        }
+        if (number < 0 || number > MAX_PORT) {
+            console.writeError(InOutputStrings.INVALID_PORT.toString());
+            return;
+        }
+        try {
+            new Server(number, management).run();
+        } catch (IOException e) {
+            console.writeError(e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,91 @@
+package edu.kit.informatik.userinterface;
+
+import edu.kit.informatik.ReadWrite;
+import edu.kit.informatik.logic.ConcurrentMaterialManagement;
+import edu.kit.informatik.logic.MaterialManagement;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Serves clients on the local machine over TCP. Every connection is a {@link Session} of its own, with its own
+ * thread, but all of them work on the same material management. So the product structure only has to be built once
+ * for all clients. At most {@value #MAX_CONNECTIONS} clients are served at the same time, further ones wait until
+ * one of them disconnects.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+public class Server {
+    private static final int BACKLOG = 128;
+    private static final int MAX_CONNECTIONS = 64;
+    private final MaterialManagement materialManagement;
+    private final int port;
+
+    /**
+     * Create a server.
+     *
+     * @param port               the port to listen on, 0 to choose any free port.
+     * @param materialManagement the material management shared by all clients. It has to be thread-safe, e.g. a
+     *                           {@link ConcurrentMaterialManagement}.
+     */
+    public Server(int port, MaterialManagement materialManagement) {
+        this.port = port;
+        this.materialManagement = materialManagement;
+    }
+
+    /**
+     * Accept connections until the program is stopped.
+     *
+     * @throws IOException if the port can not be used.
+     */
+    void run() throws IOException {
+        // only clients on this machine may connect, there is no authentication at all.
+        try (ServerSocket socket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress())) {
+            accept(socket);
+        }
+    }
+
+    /**
+     * Accept connections until the socket is closed.
+     *
+     * @param socket the socket to accept the connections on.
+     * @throws IOException if the socket can not be used anymore.
+     */
+    void accept(ServerSocket socket) throws IOException {
+        ExecutorService connections = Executors.newFixedThreadPool(MAX_CONNECTIONS);
+        // new connections are only accepted while a thread is free, the others wait in the backlog of the socket.
+        Semaphore free = new Semaphore(MAX_CONNECTIONS);
+        try {
+            while (true) {
+                free.acquireUninterruptibly();
+                Socket client = socket.accept();
+                connections.execute(() -> {
+                    try {
+                        serve(client);
+                    } finally {
+                        free.release();
+                    }
+                });
+            }
+        } finally {
+            connections.shutdown();
+        }
+    }
+
+    private void serve(Socket client) {
+        try (Socket connection = client) {
+            // commands of clients are usually sent in one go, so the answers are sent together as well.
+            new Session(new ReadWrite(connection.getInputStream(), connection.getOutputStream()),
+                    materialManagement, true, true).run();
+        } catch (IOException | UncheckedIOException e) {
+            // the client is gone, there is no one left to tell.
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package edu.kit.informatik.userinterface;
 
 import edu.kit.informatik.ReadWrite;
+import edu.kit.informatik.logic.Histogram;
+import edu.kit.informatik.logic.LogFailedException;
 import edu.kit.informatik.logic.MaterialManagement;
 import edu.kit.informatik.userinterface.commands.Command;
 import edu.kit.informatik.userinterface.commands.CommandFactory;
 
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Handling of user input and output. This is also the point where the exception handling happens.
  * A session can be started and stopped.
@@ -14,24 +20,105 @@ import edu.kit.informatik.userinterface.commands.CommandFactory;
  */
 public class Session {
 
+    private final ReadWrite readWrite;
+    private final MaterialManagement materialManagement;
+    private final boolean batch;
+    private final boolean remote;
     private boolean running = true;
-    private MaterialManagement materialManagement;
+    // the latencies of each kind of command, so they are only looked up once per session.
+    private final Map<Class<? extends Command>, Histogram> latencies = new HashMap<>();
+
+    /**
+     * Create a session for interactive use on the console.
+     */
+    public Session() {
+        this(false);
+    }
+
+    /**
+     * Create a session on the console, that works on its own material management.
+     *
+     * @param batch <code>true</code> if the input is piped in, then the output is only written when the available
+     *              input is processed or the session ends. Otherwise each line is written immediately.
+     */
+    public Session(boolean batch) {
+        this(ReadWrite.console(), new MaterialManagement(), batch);
+    }
+
+    /**
+     * Create a session.
+     *
+     * @param readWrite          the in- and output of the user.
+     * @param materialManagement the material management the user works on, it might be shared with other sessions.
+     * @param batch              <code>true</code> to only write the output when the available input is processed or
+     *                           the session ends. Otherwise each line is written immediately.
+     */
+    public Session(ReadWrite readWrite, MaterialManagement materialManagement, boolean batch) {
+        this(readWrite, materialManagement, batch, false);
+    }
+
+    /**
+     * Create a session.
+     *
+     * @param readWrite          the in- and output of the user.
+     * @param materialManagement the material management the user works on, it might be shared with other sessions.
+     * @param batch              <code>true</code> to only write the output when the available input is processed or
+     *                           the session ends. Otherwise each line is written immediately.
+     * @param remote             <code>true</code> if the user is a client of a {@link Server}, then the user may not
+     *                           access the files of the machine.
+     */
+    public Session(ReadWrite readWrite, MaterialManagement materialManagement, boolean batch, boolean remote) {
+        this.readWrite = readWrite;
+        this.materialManagement = materialManagement;
+        this.batch = batch;
+        this.remote = remote;
+    }
 
     /**
-     * After starting the session this method remains in a loop until the {@link this#terminate()} method is called.
+     * After starting the session this method remains in a loop until the {@link this#terminate()} method is called
+     * or the input ends.
      */
-    void run() {
-        materialManagement = new MaterialManagement();
+    public void run() {
         CommandFactory factory = new CommandFactory(this);
+        readWrite.setBuffered(batch);
         while (running) {
-            String input = ReadWrite.readLine();
+            String input;
+            try {
+                input = readWrite.readLine();
+            } catch (IOException e) {
+                input = null;
+            }
+            if (input == null) {
+                // there will never be more input.
+                terminate();
+                break;
+            }
             try {
                 Command command = factory.getCommand(input);
+                long start = System.nanoTime();
                 command.execute();
+                getLatencies(command).recordSince(start);
             } catch (InputException e) {
-                ReadWrite.writeError(e.getMessage());
+                readWrite.writeError(e.getMessage());
+            } catch (LogFailedException e) {
+                // the change could not be stored in the log. The material management rejects all further changes,
+                // but the session goes on, so the user can still query it.
+                readWrite.writeError(InOutputStrings.INVALID_LOG + e.getCause().getMessage());
             }
         }
+        readWrite.flush();
+    }
+
+    private Histogram getLatencies(Command command) {
+        Histogram histogram = latencies.get(command.getClass());
+        if (histogram == null) {
+            // the name of the class is the keyword of the command.
+            String name = command.getClass().getSimpleName();
+            histogram = materialManagement.getStatistics()
+                    .getCommandLatencies(Character.toLowerCase(name.charAt(0)) + name.substring(1));
+            latencies.put(command.getClass(), histogram);
+        }
+        return histogram;
     }
 
     /**
@@ -49,4 +136,22 @@ public class Session {
     public MaterialManagement getMaterialManagement() {
         return materialManagement;
     }
+
+    /**
+     * Check if the user is a client of a {@link Server}.
+     *
+     * @return <code>true</code> if the user may not access the files of the machine.
+     */
+    public boolean isRemote() {
+        return remote;
+    }
+
+    /**
+     * Get the in- and output of this session.
+     *
+     * @return where the input of the user comes from and the output goes to.
+     */
+    public ReadWrite getReadWrite() {
+        return readWrite;
+    }
 }
@@ -1,35 +1,24 @@
 package edu.kit.informatik.userinterface.commands;
 
-import edu.kit.informatik.ReadWrite;
 import edu.kit.informatik.logic.LogicException;
 import edu.kit.informatik.userinterface.InOutputStrings;
 import edu.kit.informatik.userinterface.InputException;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Command to create a new assembly.
  * It deals with user in- and output.
- * Call {@link this#setArguments(String)} before calling {@link this#execute()}.
+ * Call {@link this#setArguments(String)} before calling {@link this#execute()}. The arguments are not checked against
+ * a pattern, since there can be a lot of them. Instead they are read by an {@link ArgumentScanner}.
  *
  * @author Liam Wachter
  * @version 1.0
  */
 public class AddAssembly extends Command {
 
-    private static final String SINGLE_DEFINITION = InOutputStrings.NUMBER_PATTERN.toString()
-            + InOutputStrings.INNER_SEPARATOR + InOutputStrings.NAME_PATTERN;
-    private static final Pattern PATTERN = Pattern.compile(String.format(
-            "addAssembly%s(?<name>%s)%s(?<nodes>%s(%s%s)*)",
-            InOutputStrings.COMMAND_SEPARATOR,
-            InOutputStrings.NAME_PATTERN,
-            InOutputStrings.DEFINITION_SEPARATOR,
-            SINGLE_DEFINITION,
-            InOutputStrings.ARGUMENT_SEPARATOR,
-            SINGLE_DEFINITION));
+    private static final String KEYWORD = "addAssembly";
     private String name;
     private Map<String, Integer> nodes;
 
@@ -40,42 +29,56 @@ public class AddAssembly extends Command {
     }
 
     /**
-     * Obtain a regex pattern for this command.
+     * Obtain the keyword of this command.
      *
-     * @return a pattern that, can be used to decide if this is the right command for a given user input.
+     * @return the word the user input has to start with, to be interpreted as this command.
      */
-    static Pattern getDefaultPattern() {
-        return PATTERN;
+    static String getKeyword() {
+        return KEYWORD;
+    }
+
+    /**
+     * Get the name of the new assembly, after the arguments are set.
+     *
+     * @return the name of the assembly.
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Get the parts/assemblies the new assembly is made with, after the arguments are set.
+     *
+     * @return the names of the parts/assemblies and their amount.
+     */
+    Map<String, Integer> getNodes() {
+        return nodes;
     }
 
     @Override
     public void execute() {
         try {
             management.addAssembly(name, nodes);
-            ReadWrite.writeLine(InOutputStrings.POSITIVE);
+            readWrite.writeLine(InOutputStrings.POSITIVE);
         } catch (LogicException e) {
-            ReadWrite.writeError(e.getMessage());
+            readWrite.writeError(e.getMessage());
         }
     }
 
     @Override
     void setArguments(String argument) throws InputException {
-        Matcher matcher = PATTERN.matcher(argument);
-        if ((!matcher.matches())) {
-            throw new AssertionError("This is a bug. Method was called without prior matching");
-        }
-        name = matcher.group("name");
-        String stringNodes = matcher.group("nodes");
-        String[] nodeParts = stringNodes.split(InOutputStrings.ARGUMENT_SEPARATOR.toString());
+        ArgumentScanner scanner = new ArgumentScanner(argument, KEYWORD);
+        name = scanner.nextName();
+        scanner.expect(InOutputStrings.DEFINITION_SEPARATOR);
         nodes = new HashMap<>();
-        for (String nodePart : nodeParts) {
-            String[] split = nodePart.split(InOutputStrings.INNER_SEPARATOR.toString());
-            // Looking at a one nodePart (that has the form of a SINGLE_DEFINITION) it makes sense that the first
-            // part should be interpreted as a number and stands at the position 0 in the array and so the other part
-            // at position 1 is the name.
-            if (nodes.put(split[1], tryParse(split[0])) != null) {
-                throw new InputException(InOutputStrings.DUPLICATE_DEFINITION.toString());
+        do {
+            // Each node has the form amount:name.
+            int amount = scanner.nextNumber();
+            scanner.expect(InOutputStrings.INNER_SEPARATOR);
+            if (nodes.put(scanner.nextName(), amount) != null) {
+                scanner.report(InOutputStrings.DUPLICATE_DEFINITION.toString());
             }
-        }
+        } while (scanner.skip(InOutputStrings.ARGUMENT_SEPARATOR));
+        scanner.finish();
     }
 }
@@ -0,0 +1,137 @@
+package edu.kit.informatik.userinterface.commands;
+
+import edu.kit.informatik.userinterface.InOutputStrings;
+import edu.kit.informatik.userinterface.InputException;
+
+/**
+ * Reads the arguments of a command in one pass from left to right without regular expressions. It accepts exactly
+ * what {@link InOutputStrings#NAME_PATTERN} and {@link InOutputStrings#NUMBER_PATTERN} accept.
+ * <p>
+ * Like matching a pattern first and interpreting the arguments afterwards, a syntax error anywhere in the input is
+ * reported before any other problem. So problems with the content of the arguments, like a number that is too big,
+ * are only remembered and reported by {@link #finish()}.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class ArgumentScanner {
+    private final String input;
+    private int position;
+    private String problem;
+
+    /**
+     * Start reading the arguments of a command.
+     *
+     * @param input   the raw input of the user.
+     * @param keyword the keyword of the command, the input is known to start with it.
+     * @throws InputException if the keyword is not followed by a {@link InOutputStrings#COMMAND_SEPARATOR}.
+     */
+    ArgumentScanner(String input, String keyword) throws InputException {
+        this.input = input;
+        position = keyword.length();
+        expect(InOutputStrings.COMMAND_SEPARATOR);
+    }
+
+    /**
+     * Read a separator.
+     *
+     * @param separator the separator that has to follow.
+     * @throws InputException if something else follows.
+     */
+    void expect(InOutputStrings separator) throws InputException {
+        if (!skip(separator)) {
+            throw new InputException(InOutputStrings.WRONG_ARGUMENTS.toString());
+        }
+    }
+
+    /**
+     * Read a separator, if it follows.
+     *
+     * @param separator the separator that might follow.
+     * @return <code>true</code> if the separator followed and was read.
+     */
+    boolean skip(InOutputStrings separator) {
+        String text = separator.toString();
+        if (input.startsWith(text, position)) {
+            position += text.length();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Read a name, consisting of letters only.
+     *
+     * @return the name.
+     * @throws InputException if there is no name.
+     */
+    String nextName() throws InputException {
+        int start = position;
+        while (position < input.length() && isLetter(input.charAt(position))) {
+            position++;
+        }
+        if (start == position) {
+            throw new InputException(InOutputStrings.WRONG_ARGUMENTS.toString());
+        }
+        return input.substring(start, position);
+    }
+
+    /**
+     * Read a natural number without leading zeros.
+     *
+     * @return the number or <code>-1</code> if it is too big for an <code>int</code>, this is reported by
+     * {@link #finish()}.
+     * @throws InputException if there is no number.
+     */
+    int nextNumber() throws InputException {
+        int start = position;
+        long number = 0;
+        while (position < input.length() && isDigit(input.charAt(position))) {
+            if (number <= Integer.MAX_VALUE) {
+                number = number * 10 + input.charAt(position) - '0';
+            }
+            position++;
+        }
+        if (start == position || input.charAt(start) == '0' && position - start > 1) {
+            throw new InputException(InOutputStrings.WRONG_ARGUMENTS.toString());
+        }
+        if (number > Integer.MAX_VALUE) {
+            report(InOutputStrings.WAY_TO_HUGE.toString());
+            return -1;
+        }
+        return (int) number;
+    }
+
+    /**
+     * Remember a problem with the content of the arguments. Only the first problem will be reported.
+     *
+     * @param message what went wrong?
+     */
+    void report(String message) {
+        if (problem == null) {
+            problem = message;
+        }
+    }
+
+    /**
+     * Check that all of the input was read.
+     *
+     * @throws InputException if there is more input or if a problem was reported before.
+     */
+    void finish() throws InputException {
+        if (position != input.length()) {
+            throw new InputException(InOutputStrings.WRONG_ARGUMENTS.toString());
+        }
+        if (problem != null) {
+            throw new InputException(problem);
+        }
+    }
+
+    private static boolean isLetter(char character) {
+        return character >= 'a' && character <= 'z' || character >= 'A' && character <= 'Z';
+    }
+
+    private static boolean isDigit(char character) {
+        return character >= '0' && character <= '9';
+    }
+}
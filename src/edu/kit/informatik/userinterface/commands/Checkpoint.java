@@ -0,0 +1,52 @@
+package edu.kit.informatik.userinterface.commands;
+
+import edu.kit.informatik.logic.LogicException;
+import edu.kit.informatik.userinterface.InOutputStrings;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Command to store the whole product structure in the file of the checkpoints, so the next start does not have to
+ * replay the log.
+ * It deals with user in- and output.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+// There is no argument for the file on purpose. It is chosen on start, so a client of the server can not choose which
+// files are written.
+public class Checkpoint extends Command {
+    private static final Pattern PATTERN = Pattern.compile("checkpoint");
+
+    /**
+     * Avoid initialisation outside of the package.
+     */
+    Checkpoint() {
+    }
+
+    /**
+     * Obtain a regex pattern for this command.
+     *
+     * @return a pattern that, can be used to decide if this is the right command for a given user input.
+     */
+    static Pattern getDefaultPattern() {
+        return PATTERN;
+    }
+
+    @Override
+    public void execute() {
+        try {
+            management.checkpoint();
+            readWrite.writeLine(InOutputStrings.POSITIVE);
+        } catch (LogicException e) {
+            readWrite.writeError(e.getMessage());
+        } catch (IOException e) {
+            readWrite.writeError(InOutputStrings.INVALID_CHECKPOINT + e.getMessage());
+        }
+    }
+
+    @Override
+    void setArguments(String argument) {
+    }
+}
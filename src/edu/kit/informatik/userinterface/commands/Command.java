@@ -2,11 +2,14 @@ package edu.kit.informatik.userinterface.commands;
 
 import edu.kit.informatik.ReadWrite;
 import edu.kit.informatik.logic.MaterialManagement;
+import edu.kit.informatik.logic.Quantities;
 import edu.kit.informatik.userinterface.InOutputStrings;
 import edu.kit.informatik.userinterface.InputException;
 import edu.kit.informatik.userinterface.Session;
 
-import java.util.*;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Map;
 
 
 /**
@@ -17,12 +20,18 @@ import java.util.*;
  * @version 1.0
  */
 public abstract class Command {
+    private static final int ESTIMATED_ENTRY_LENGTH = 16;
 
     /**
      * The reference to the logic. To allow commands to alter or query a {@link MaterialManagement}.
      */
     protected MaterialManagement management;
 
+    /**
+     * The in- and output of the session. To answer the user.
+     */
+    protected ReadWrite readWrite;
+
     /**
      * Runs the command.
      */
@@ -30,94 +39,148 @@ public abstract class Command {
 
     /**
      * This allows the a command to manipulate a {@link Session}. E.g. call {@link Session#terminate()} on
-     * it or most commonly get the current {@link MaterialManagement}.
+     * it or most commonly get the current {@link MaterialManagement} and the in- and output of the session.
      * For commands that don't have to interact with the session this will be ignored.
      *
      * @param session the session the creating factory was initiated with.
      */
     void setSession(Session session) {
         this.management = session.getMaterialManagement();
+        this.readWrite = session.getReadWrite();
     }
 
     /**
      * Passes valid arguments to the command. If the command does not expect any arguments this will be ignored. This
-     * method asserts valid input. I.e checked against the regex of the command.
+     * method asserts valid input. I.e checked against the regex of the command. Commands without a regex check the
+     * syntax of their arguments here themselves.
      *
      * @param argument the arguments the user passed one string.
      * @throws InputException if <b>despite</b> the matching against the pattern the arguments turn out to be
-     *                        <b>syntactically</b> incorrect.
+     *                        <b>syntactically</b> incorrect or if a command without a pattern gets invalid arguments.
      */
     abstract void setArguments(String argument) throws InputException;
 
     /**
-     * Sorts the mapping between Strings and Longs in the given way and outputs the result to the user.
-     *
-     * @param toOutput     the map that should be printed to the user.
-     * @param sortByAmount whether to sort by amount and than name or just by name.
-     */
-    protected void outputStringLongMap(Map<String, Long> toOutput, boolean sortByAmount) {
-        List<Map.Entry<String, Long>> list;
-        if (sortByAmount) {
-            list = sortByAmountAndName(toOutput);
-        } else {
-            list = sortByName(toOutput);
-        }
-        StringBuilder output = new StringBuilder();
-        // The following two statements are basically a string.join with an more complex formatting and outputting
-        // the resulting String.
-        list.forEach(entry -> output.append(String.format("%s%s%s%d",
-                InOutputStrings.ARGUMENT_SEPARATOR, entry.getKey(),
-                InOutputStrings.INNER_SEPARATOR, entry.getValue())));
-        ReadWrite.writeLine(output.toString().replaceFirst(InOutputStrings.ARGUMENT_SEPARATOR.toString(), ""));
-    }
-
-    /**
-     * Sorts the mapping between Strings and Integers in the given way and outputs the result to the user.
-     *
-     * @param toOutput     the map that should be printed to the user.
-     * @param sortByAmount whether to sort by amount and than name or just by name.
+     * @param numberAsString a {@link String} that is expected to be an <code>int</code>.
+     * @return the value of <code>numberAsString</code>
+     * @throws InputException if this is too big for an int.
      */
-    protected void outputStringIntegerMap(Map<String, Integer> toOutput, boolean sortByAmount) {
-        outputStringLongMap(remap(toOutput), sortByAmount);
+    protected int tryParse(String numberAsString) throws InputException {
+        return tryParse(numberAsString, InOutputStrings.WAY_TO_HUGE);
     }
 
     /**
      * @param numberAsString a {@link String} that is expected to be an <code>int</code>.
+     * @param tooBig         the message for the user if it is too big.
      * @return the value of <code>numberAsString</code>
      * @throws InputException if this is too big for an int.
      */
-    protected int tryParse(String numberAsString) throws InputException {
+    protected int tryParse(String numberAsString, InOutputStrings tooBig) throws InputException {
         int number;
         try {
             number = Integer.parseInt(numberAsString);
         } catch (NumberFormatException e) {
-            throw new InputException(InOutputStrings.WAY_TO_HUGE.toString());
+            throw new InputException(tooBig.toString());
         }
         return number;
     }
 
-    private Map<String, Long> remap(Map<String, Integer> toSort) {
-        Map<String, Long> longMap = new HashMap<>();
-        toSort.forEach((key, value) -> longMap.put(key, (long) value));
-        return longMap;
+    /**
+     * Sorts the quantities in the given way and outputs the result to the user.
+     *
+     * @param toOutput     the quantities that should be printed to the user.
+     * @param sortByAmount whether to sort by amount and than name or just by name.
+     */
+    protected void outputQuantities(Quantities toOutput, boolean sortByAmount) {
+        outputQuantities("", toOutput, sortByAmount);
+    }
+
+    /**
+     * Sorts the quantities in the given way and outputs the result to the user in one line after a prefix.
+     *
+     * @param prefix       the text in front of the quantities.
+     * @param toOutput     the quantities that should be printed to the user.
+     * @param sortByAmount whether to sort by amount and than name or just by name.
+     */
+    protected void outputQuantities(String prefix, Quantities toOutput, boolean sortByAmount) {
+        Entry[] entries = new Entry[toOutput.size()];
+        for (int index = 0; index < entries.length; index++) {
+            // the amounts are exact, so they might be larger than a long.
+            entries[index] = new Entry(toOutput.getName(index), toOutput.getAmount(index),
+                    toOutput.isWide(index) ? toOutput.getExactAmount(index) : null);
+        }
+        output(prefix, entries, sortByAmount);
+    }
+
+    /**
+     * Sorts the mapping between Strings and Integers in the given way and outputs the result to the user.
+     *
+     * @param toOutput     the map that should be printed to the user.
+     * @param sortByAmount whether to sort by amount and than name or just by name.
+     */
+    protected void outputStringIntegerMap(Map<String, Integer> toOutput, boolean sortByAmount) {
+        Entry[] entries = new Entry[toOutput.size()];
+        int index = 0;
+        for (Map.Entry<String, Integer> node : toOutput.entrySet()) {
+            entries[index++] = new Entry(node.getKey(), node.getValue(), null);
+        }
+        output("", entries, sortByAmount);
     }
 
-    private List<Map.Entry<String, Long>> sortByAmountAndName(Map<String, Long> toSort) {
-        List<Map.Entry<String, Long>> toReturn = new LinkedList<>(toSort.entrySet());
-        toReturn.sort((left, right) -> {
-            if (left.getValue().equals(right.getValue())) {
-                // In case the amount is the same. So it will be sorted by name.
-                return left.getKey().compareTo(right.getKey());
+    private void output(String prefix, Entry[] entries, boolean sortByAmount) {
+        Arrays.sort(entries, sortByAmount ? Entry::compareByAmountAndName : Entry::compareByName);
+        // basically a string.join of the formatted entries.
+        StringBuilder output = new StringBuilder(prefix.length() + entries.length * ESTIMATED_ENTRY_LENGTH);
+        output.append(prefix);
+        for (Entry entry : entries) {
+            if (output.length() > prefix.length()) {
+                output.append(InOutputStrings.ARGUMENT_SEPARATOR);
             }
-            return right.getValue().compareTo(left.getValue());
-        });
-        return toReturn;
+            output.append(entry.name).append(InOutputStrings.INNER_SEPARATOR);
+            if (entry.wideAmount == null) {
+                output.append(entry.amount);
+            } else {
+                output.append(entry.wideAmount);
+            }
+        }
+        readWrite.writeLine(output);
     }
 
-    private List<Map.Entry<String, Long>> sortByName(Map<String, Long> toSort) {
-        List<Map.Entry<String, Long>> toReturn = new LinkedList<>(toSort.entrySet());
-        // The standard string comparision is exactly what is required.
-        toReturn.sort(Comparator.comparing(Map.Entry::getKey));
-        return toReturn;
+    /**
+     * One line of the output, the name of an assembly/part and its amount.
+     */
+    private static final class Entry {
+        private final String name;
+        private final long amount;
+        // only set if the amount does not fit into a long.
+        private final BigInteger wideAmount;
+
+        private Entry(String name, long amount, BigInteger wideAmount) {
+            this.name = name;
+            this.amount = amount;
+            this.wideAmount = wideAmount;
+        }
+
+        private int compareByName(Entry other) {
+            // The standard string comparision is exactly what is required.
+            return name.compareTo(other.name);
+        }
+
+        private int compareByAmountAndName(Entry other) {
+            int comparison = other.compareAmount(this);
+            // In case the amount is the same. So it will be sorted by name.
+            return comparison != 0 ? comparison : compareByName(other);
+        }
+
+        private int compareAmount(Entry other) {
+            if (wideAmount == null && other.wideAmount == null) {
+                return Long.compare(amount, other.amount);
+            }
+            // a wide amount is always larger than a long one.
+            if (wideAmount == null || other.wideAmount == null) {
+                return wideAmount == null ? -1 : 1;
+            }
+            return wideAmount.compareTo(other.wideAmount);
+        }
     }
 }
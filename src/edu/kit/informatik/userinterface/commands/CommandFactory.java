@@ -6,6 +6,7 @@ import edu.kit.informatik.userinterface.Session;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 /**
@@ -22,18 +23,34 @@ import java.util.regex.Pattern;
 public class CommandFactory {
     /**
      * It is possible to assign an alias for an command or create another set of commands e.g for testing.
+     * The commands are found by the keyword at the start of their pattern.
      */
-    private static final Map<Pattern, Class<? extends Command>> COMMAND_PACKAGE
-            = new HashMap<Pattern, Class<? extends Command>>() {
+    private static final Map<String, CommandType> COMMAND_PACKAGE = new HashMap<String, CommandType>() {
         {
-            put(Quit.getDefaultPattern(), Quit.class);
-            put(AddAssembly.getDefaultPattern(), AddAssembly.class);
-            put(AddPart.getDefaultPattern(), AddPart.class);
-            put(GetAssemblies.getDefaultPattern(), GetAssemblies.class);
-            put(GetComponents.getDefaultPattern(), GetComponents.class);
-            put(PrintAssembly.getDefaultPattern(), PrintAssembly.class);
-            put(RemoveAssembly.getDefaultPattern(), RemoveAssembly.class);
-            put(RemovePart.getDefaultPattern(), RemovePart.class);
+            putCommand(Quit.getDefaultPattern(), Quit::new);
+            putCommand(Checkpoint.getDefaultPattern(), Checkpoint::new);
+            putCommand(Stats.getDefaultPattern(), Stats::new);
+            putCommand(AddAssembly.getKeyword(), AddAssembly::new);
+            putCommand(ImportAssemblies.getDefaultPattern(), ImportAssemblies::new);
+            putCommand(AddPart.getKeyword(), AddPart::new);
+            putCommand(GetAssemblies.getDefaultPattern(), GetAssemblies::new);
+            putCommand(GetComponents.getDefaultPattern(), GetComponents::new);
+            putCommand(GetUsages.getDefaultPattern(), GetUsages::new);
+            putCommand(GetLevels.getDefaultPattern(), GetLevels::new);
+            putCommand(GetRequirements.getKeyword(), GetRequirements::new);
+            putCommand(StreamComponents.getDefaultPattern(), StreamComponents::new);
+            putCommand(PrintAssembly.getDefaultPattern(), PrintAssembly::new);
+            putCommand(RemoveAssembly.getDefaultPattern(), RemoveAssembly::new);
+            putCommand(RemovePart.getKeyword(), RemovePart::new);
+        }
+
+        private void putCommand(Pattern pattern, Supplier<Command> constructor) {
+            put(getKeyword(pattern.toString()), new CommandType(pattern, constructor));
+        }
+
+        // for commands that check the syntax of their arguments themselves.
+        private void putCommand(String keyword, Supplier<Command> constructor) {
+            put(keyword, new CommandType(null, constructor));
         }
     };
 
@@ -52,41 +69,14 @@ public class CommandFactory {
     }
 
     /**
-     * Get a command from the default package. At the moment there is just one package.
-     *
-     * @param input the expression that will be matched against the command syntax
-     * @return the command that matches the supplied pattern or null if no command matches
-     */
-    private static Class<? extends Command> getFromDefaultPackage(final String input) {
-        // This lambda searches for the first entry in the hash map that has a regex pattern that matches the input.
-        // If none was found it returns null.
-        // This kind of kills me all advantages of a hash map when it comes to speed.
-        return COMMAND_PACKAGE.keySet()
-                .stream()
-                .filter(s -> s.matcher(input).matches())
-                .findFirst()
-                .map(COMMAND_PACKAGE::get)
-                .orElse(null);
-    }
-
-    /**
-     * This method can be used, when no command matches the user input, to check if there is a command with this
-     * name. So the user just got the arguments of a command wrong.
+     * Get the keyword of a command, i.e. everything in front of the first {@link InOutputStrings#COMMAND_SEPARATOR}.
      *
-     * @param input the raw command the user entered.
-     * @return if there is a command with this name.
+     * @param input the user input or the pattern of a command.
+     * @return the keyword, that identifies the command.
      */
-    private boolean similarCommand(String input) {
-        // make sure the split afterwards has at least size one
-        if (input.matches(" .*")) {
-            return false;
-        }
-        final String enteredCommand = input.split(InOutputStrings.COMMAND_SEPARATOR.toString())[0];
-        return COMMAND_PACKAGE
-                .keySet()
-                .stream()
-                .map(Pattern::toString)
-                .anyMatch(patternText -> patternText.startsWith(enteredCommand + InOutputStrings.COMMAND_SEPARATOR));
+    private static String getKeyword(final String input) {
+        int end = input.indexOf(InOutputStrings.COMMAND_SEPARATOR.toString());
+        return end < 0 ? input : input.substring(0, end);
     }
 
     /**
@@ -97,24 +87,38 @@ public class CommandFactory {
      * @throws InputException if there is no matching command.
      */
     public Command getCommand(final String input) throws InputException {
-        final Command command;
-        Class<? extends Command> model = getFromDefaultPackage(input);
-        if (model == null) {
-            if (similarCommand(input)) {
+        CommandType type = COMMAND_PACKAGE.get(getKeyword(input));
+        if (type == null) {
+            throw new InputException(InOutputStrings.NO_MATCHING_COMMAND.toString());
+        }
+        if (type.pattern != null && !type.pattern.matcher(input).matches()) {
+            // So the user just got the arguments of a command wrong, but only if the command has arguments.
+            if (type.hasArguments()) {
                 throw new InputException(InOutputStrings.WRONG_ARGUMENTS.toString());
             } else {
                 throw new InputException(InOutputStrings.NO_MATCHING_COMMAND.toString());
             }
         }
-        try {
-            command = model.newInstance();
-        } catch (InstantiationException | IllegalAccessException e) {
-            // This should never happen – when this code is reached the program terminates.
-            throw new AssertionError("The commands are implemented incorrectly. This is a bug.");
-        }
+        final Command command = type.constructor.get();
         command.setArguments(input);
         command.setSession(session);
         return command;
     }
 
+    /**
+     * The pattern of a command and how to create it.
+     */
+    private static final class CommandType {
+        private final Pattern pattern;
+        private final Supplier<Command> constructor;
+
+        private CommandType(Pattern pattern, Supplier<Command> constructor) {
+            this.pattern = pattern;
+            this.constructor = constructor;
+        }
+
+        private boolean hasArguments() {
+            return pattern.toString().contains(InOutputStrings.COMMAND_SEPARATOR.toString());
+        }
+    }
 }
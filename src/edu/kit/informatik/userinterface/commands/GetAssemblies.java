@@ -1,31 +1,27 @@
 package edu.kit.informatik.userinterface.commands;
 
-import edu.kit.informatik.ReadWrite;
 import edu.kit.informatik.logic.LogicException;
-import edu.kit.informatik.userinterface.InOutputStrings;
+import edu.kit.informatik.logic.Quantities;
 
-import java.util.Map;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
- * Command to output the assemblies (and their amount) used in an other assembly.
+ * Command to output the assemblies (and their amount) used in an other assembly. Optionally followed by a limit and
+ * an offset, to only output a page of the assemblies ranked by their amount.
  * It deals with user in- and output.
  * Call {@link this#setArguments(String)} before calling {@link this#execute()}.
  *
  * @author Liam Wachter
  * @version 1.0
  */
-public class GetAssemblies extends Command {
-    private static final Pattern PATTERN = Pattern.compile(String.format("getAssemblies%s(?<name>%s)",
-            InOutputStrings.COMMAND_SEPARATOR,
-            InOutputStrings.NAME_PATTERN.toString()));
-    private String name;
+public class GetAssemblies extends PagedQuery {
+    private static final Pattern PATTERN = compile("getAssemblies");
 
     /**
      * Avoid initialisation outside of the package.
      */
     GetAssemblies() {
+        super(PATTERN);
     }
 
     /**
@@ -39,27 +35,12 @@ public class GetAssemblies extends Command {
     }
 
     @Override
-    public void execute() {
-        Map<String, Long> assemblies;
-        try {
-            assemblies = management.getAssemblies(name);
-        } catch (LogicException e) {
-            ReadWrite.writeError(e.getMessage());
-            return;
-        }
-        if (assemblies.isEmpty()) {
-            ReadWrite.writeLine(InOutputStrings.EMPTY);
-            return;
-        }
-        outputStringLongMap(assemblies, true);
+    Quantities query(String name) throws LogicException {
+        return management.getAssemblies(name);
     }
 
     @Override
-    void setArguments(String argument) {
-        Matcher matcher = PATTERN.matcher(argument);
-        if ((!matcher.matches())) {
-            throw new AssertionError("This is a bug. Method was called without prior matching");
-        }
-        name = matcher.group("name");
+    Quantities query(String name, int limit, int offset) throws LogicException {
+        return management.getAssemblies(name, limit, offset);
     }
 }
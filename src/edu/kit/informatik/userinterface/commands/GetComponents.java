@@ -1,31 +1,27 @@
 package edu.kit.informatik.userinterface.commands;
 
-import edu.kit.informatik.ReadWrite;
 import edu.kit.informatik.logic.LogicException;
-import edu.kit.informatik.userinterface.InOutputStrings;
+import edu.kit.informatik.logic.Quantities;
 
-import java.util.Map;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
- * Command to output the number and types of components required for building an assembly.
+ * Command to output the number and types of components required for building an assembly. Optionally followed by a
+ * limit and an offset, to only output a page of the components ranked by their amount.
  * It deals with user in- and output.
  * Call {@link this#setArguments(String)} before calling {@link this#execute()}.
  *
  * @author Liam Wachter
  * @version 1.0
  */
-public class GetComponents extends Command {
-    private static final Pattern PATTERN = Pattern.compile(String.format("getComponents%s(?<name>%s)",
-            InOutputStrings.COMMAND_SEPARATOR,
-            InOutputStrings.NAME_PATTERN.toString()));
-    private String name;
+public class GetComponents extends PagedQuery {
+    private static final Pattern PATTERN = compile("getComponents");
 
     /**
      * Avoid initialisation outside of the package.
      */
     GetComponents() {
+        super(PATTERN);
     }
 
     /**
@@ -38,21 +34,12 @@ public class GetComponents extends Command {
     }
 
     @Override
-    public void execute() {
-        try {
-            Map<String, Long> components = management.getComponents(name);
-            outputStringLongMap(components, true);
-        } catch (LogicException e) {
-            ReadWrite.writeError(e.getMessage());
-        }
+    Quantities query(String name) throws LogicException {
+        return management.getComponents(name);
     }
 
     @Override
-    void setArguments(String argument) {
-        Matcher matcher = PATTERN.matcher(argument);
-        if ((!matcher.matches())) {
-            throw new AssertionError("This is a bug. Method was called without prior matching");
-        }
-        name = matcher.group("name");
+    Quantities query(String name, int limit, int offset) throws LogicException {
+        return management.getComponents(name, limit, offset);
     }
 }
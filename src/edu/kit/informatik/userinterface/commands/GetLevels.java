@@ -0,0 +1,68 @@
+package edu.kit.informatik.userinterface.commands;
+
+import edu.kit.informatik.logic.LogicException;
+import edu.kit.informatik.logic.Quantities;
+import edu.kit.informatik.userinterface.InOutputStrings;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Command to output the assemblies and parts (and their amount) used in an other assembly, level by level. Each line
+ * starts with a low-level code, i.e. the deepest level an assembly/part is used on in any assembly, followed by the
+ * assemblies/parts with this code.
+ * It deals with user in- and output.
+ * Call {@link this#setArguments(String)} before calling {@link this#execute()}.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+public class GetLevels extends Command {
+    private static final Pattern PATTERN = Pattern.compile(String.format("getLevels%s(?<name>%s)",
+            InOutputStrings.COMMAND_SEPARATOR,
+            InOutputStrings.NAME_PATTERN));
+
+    private String name;
+
+    /**
+     * Avoid initialisation outside of the package.
+     */
+    GetLevels() {
+    }
+
+    /**
+     * Obtain a regex pattern for this command.
+     *
+     * @return a pattern that, can be used to decide if this is the right command for a given
+     * user input.
+     */
+    static Pattern getDefaultPattern() {
+        return PATTERN;
+    }
+
+    @Override
+    public void execute() {
+        Map<Integer, Quantities> levels;
+        try {
+            levels = management.getLevels(name);
+        } catch (LogicException e) {
+            readWrite.writeError(e.getMessage());
+            return;
+        }
+        // every line has the form code=name:amount;name:amount
+        for (Map.Entry<Integer, Quantities> level : levels.entrySet()) {
+            outputQuantities(level.getKey() + InOutputStrings.DEFINITION_SEPARATOR.toString(), level.getValue(),
+                    true);
+        }
+    }
+
+    @Override
+    void setArguments(String argument) {
+        Matcher matcher = PATTERN.matcher(argument);
+        if ((!matcher.matches())) {
+            throw new AssertionError("This is a bug. Method was called without prior matching");
+        }
+        name = matcher.group("name");
+    }
+}
@@ -0,0 +1,67 @@
+package edu.kit.informatik.userinterface.commands;
+
+import edu.kit.informatik.logic.LogicException;
+import edu.kit.informatik.logic.Quantities;
+import edu.kit.informatik.userinterface.InOutputStrings;
+import edu.kit.informatik.userinterface.InputException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command to output everything that is required to build several assemblies, e.g. the orders of a planning run. The
+ * assemblies are listed like the nodes of {@link AddAssembly}, each with the amount that is needed of it.
+ * It deals with user in- and output.
+ * Call {@link this#setArguments(String)} before calling {@link this#execute()}. The arguments are not checked against
+ * a pattern, since there can be a lot of them. Instead they are read by an {@link ArgumentScanner}.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+public class GetRequirements extends Command {
+
+    private static final String KEYWORD = "getRequirements";
+    private Map<String, Integer> demands;
+
+    /**
+     * Avoid initialisation outside of the package.
+     */
+    GetRequirements() {
+    }
+
+    /**
+     * Obtain the keyword of this command.
+     *
+     * @return the word the user input has to start with, to be interpreted as this command.
+     */
+    static String getKeyword() {
+        return KEYWORD;
+    }
+
+    @Override
+    public void execute() {
+        Quantities requirements;
+        try {
+            requirements = management.getRequirements(demands);
+        } catch (LogicException e) {
+            readWrite.writeError(e.getMessage());
+            return;
+        }
+        outputQuantities(requirements, true);
+    }
+
+    @Override
+    void setArguments(String argument) throws InputException {
+        ArgumentScanner scanner = new ArgumentScanner(argument, KEYWORD);
+        demands = new HashMap<>();
+        do {
+            // Each demand has the form amount:name.
+            int amount = scanner.nextNumber();
+            scanner.expect(InOutputStrings.INNER_SEPARATOR);
+            if (demands.put(scanner.nextName(), amount) != null) {
+                scanner.report(InOutputStrings.DUPLICATE_DEFINITION.toString());
+            }
+        } while (scanner.skip(InOutputStrings.ARGUMENT_SEPARATOR));
+        scanner.finish();
+    }
+}
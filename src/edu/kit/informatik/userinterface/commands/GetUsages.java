@@ -0,0 +1,47 @@
+package edu.kit.informatik.userinterface.commands;
+
+import edu.kit.informatik.logic.LogicException;
+import edu.kit.informatik.logic.Quantities;
+
+import java.util.regex.Pattern;
+
+/**
+ * Command to output the assemblies an assembly/part is directly or transitively used in, and how many of it each of
+ * them needs. Optionally followed by a limit and an offset, to only output a page of the assemblies ranked by the
+ * amount they need.
+ * It deals with user in- and output.
+ * Call {@link this#setArguments(String)} before calling {@link this#execute()}.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+public class GetUsages extends PagedQuery {
+    private static final Pattern PATTERN = compile("getUsages");
+
+    /**
+     * Avoid initialisation outside of the package.
+     */
+    GetUsages() {
+        super(PATTERN);
+    }
+
+    /**
+     * Obtain a regex pattern for this command.
+     *
+     * @return a pattern that, can be used to decide if this is the right command for a given
+     * user input.
+     */
+    static Pattern getDefaultPattern() {
+        return PATTERN;
+    }
+
+    @Override
+    Quantities query(String name) throws LogicException {
+        return management.getUsages(name);
+    }
+
+    @Override
+    Quantities query(String name, int limit, int offset) throws LogicException {
+        return management.getUsages(name, limit, offset);
+    }
+}
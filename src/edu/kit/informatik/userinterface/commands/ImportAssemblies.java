@@ -0,0 +1,132 @@
+package edu.kit.informatik.userinterface.commands;
+
+import edu.kit.informatik.logic.LogicException;
+import edu.kit.informatik.userinterface.InOutputStrings;
+import edu.kit.informatik.userinterface.InputException;
+import edu.kit.informatik.userinterface.Session;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Command to create all assemblies defined in a file at once. Each line of the file is an {@link AddAssembly}
+ * command, empty lines are ignored. The assemblies may be defined in any order, the product structure is checked for
+ * cycles only once after all of them are read. If anything is wrong with the file, no assembly is created. Clients of
+ * the server can not import files, otherwise they could read any file the server can read.
+ * It deals with user in- and output.
+ * Call {@link this#setArguments(String)} before calling {@link this#execute()}.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+public class ImportAssemblies extends Command {
+    private static final Pattern PATTERN = Pattern.compile(String.format("importAssemblies%s(?<file>.+)",
+            InOutputStrings.COMMAND_SEPARATOR));
+    private String file;
+    private boolean remote;
+
+    /**
+     * Avoid initialisation outside of the package.
+     */
+    ImportAssemblies() {
+    }
+
+    /**
+     * Obtain a regex pattern for this command.
+     *
+     * @return a pattern that, can be used to decide if this is the right command for a given user input.
+     */
+    static Pattern getDefaultPattern() {
+        return PATTERN;
+    }
+
+    @Override
+    public void execute() {
+        if (remote) {
+            readWrite.writeError(InOutputStrings.REMOTE_IMPORT.toString());
+            return;
+        }
+        Map<String, Map<String, Integer>> definitions;
+        try {
+            definitions = read();
+        } catch (InputException e) {
+            readWrite.writeError(e.getMessage());
+            return;
+        } catch (IOException | InvalidPathException e) {
+            readWrite.writeError(InOutputStrings.INVALID_IMPORT + e.getMessage());
+            return;
+        }
+        try {
+            management.addAssemblies(definitions);
+            readWrite.writeLine(InOutputStrings.POSITIVE);
+        } catch (LogicException e) {
+            readWrite.writeError(e.getMessage());
+        }
+    }
+
+    @Override
+    void setSession(Session session) {
+        super.setSession(session);
+        remote = session.isRemote();
+    }
+
+    private Map<String, Map<String, Integer>> read() throws IOException, InputException {
+        // the order of the file is kept, so the errors of the logic refer to the first problematic definition.
+        Map<String, Map<String, Integer>> definitions = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+            int number = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                if (line.isEmpty()) {
+                    continue;
+                }
+                if (!isDefinition(line)) {
+                    throw new InputException(getPosition(number) + InOutputStrings.NO_MATCHING_COMMAND);
+                }
+                AddAssembly definition = new AddAssembly();
+                try {
+                    definition.setArguments(line);
+                } catch (InputException e) {
+                    throw new InputException(getPosition(number) + e.getMessage());
+                }
+                if (definitions.put(definition.getName(), definition.getNodes()) != null) {
+                    throw new InputException(getPosition(number) + InOutputStrings.DUPLICATE_DEFINITION);
+                }
+            }
+        }
+        return definitions;
+    }
+
+    /**
+     * Check if a line is an {@link AddAssembly} command. Like in {@link CommandFactory}, the keyword is everything in
+     * front of the first {@link InOutputStrings#COMMAND_SEPARATOR}, so it has to match exactly.
+     */
+    private static boolean isDefinition(String line) {
+        String keyword = AddAssembly.getKeyword();
+        return line.startsWith(keyword) && (line.length() == keyword.length()
+                || line.startsWith(InOutputStrings.COMMAND_SEPARATOR.toString(), keyword.length()));
+    }
+
+    // only called for errors, so formatting does not slow down reading the lines.
+    private static String getPosition(int number) {
+        return String.format(InOutputStrings.LINE.toString(), number);
+    }
+
+    @Override
+    void setArguments(String argument) {
+        Matcher matcher = PATTERN.matcher(argument);
+        if (!matcher.matches()) {
+            throw new AssertionError("This is a bug. Method was called without prior matching");
+        }
+        file = matcher.group("file");
+    }
+}
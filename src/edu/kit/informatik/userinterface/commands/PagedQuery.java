@@ -0,0 +1,105 @@
+package edu.kit.informatik.userinterface.commands;
+
+import edu.kit.informatik.logic.LogicException;
+import edu.kit.informatik.logic.Quantities;
+import edu.kit.informatik.userinterface.InOutputStrings;
+import edu.kit.informatik.userinterface.InputException;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A command to output assemblies/parts and their amount for a given name. Optionally followed by a limit and an
+ * offset, to only output a page of them ranked by their amount.
+ * It deals with user in- and output.
+ * Call {@link this#setArguments(String)} before calling {@link this#execute()}.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+public abstract class PagedQuery extends Command {
+    private final Pattern pattern;
+    private String name;
+    // if there is no limit, everything is printed.
+    private boolean paged;
+    private int limit;
+    private int offset;
+
+    /**
+     * Avoid initialisation outside of the package.
+     *
+     * @param pattern the pattern of the command, see {@link #compile(String)}.
+     */
+    PagedQuery(Pattern pattern) {
+        this.pattern = pattern;
+    }
+
+    /**
+     * Create the pattern of a paged query.
+     *
+     * @param keyword the keyword of the command.
+     * @return a pattern matching the keyword followed by a name, an optional limit and an optional offset.
+     */
+    static Pattern compile(String keyword) {
+        return Pattern.compile(String.format(
+                "%s%s(?<name>%s)(%s(?<limit>%s)(%s(?<offset>%s))?)?",
+                keyword,
+                InOutputStrings.COMMAND_SEPARATOR,
+                InOutputStrings.NAME_PATTERN,
+                InOutputStrings.COMMAND_SEPARATOR,
+                InOutputStrings.NUMBER_PATTERN,
+                InOutputStrings.COMMAND_SEPARATOR,
+                InOutputStrings.NUMBER_PATTERN));
+    }
+
+    /**
+     * Obtain all assemblies/parts to output.
+     *
+     * @param name the name given by the user.
+     * @return the assemblies/parts and their amount.
+     * @throws LogicException if the name can not be queried.
+     */
+    abstract Quantities query(String name) throws LogicException;
+
+    /**
+     * Obtain a page of the assemblies/parts to output, ranked by their amount.
+     *
+     * @param name   the name given by the user.
+     * @param limit  the maximum number of assemblies/parts to return.
+     * @param offset how many of the highest ranked assemblies/parts to skip.
+     * @return the assemblies/parts and their amount in the order of their rank.
+     * @throws LogicException if the name can not be queried.
+     */
+    abstract Quantities query(String name, int limit, int offset) throws LogicException;
+
+    @Override
+    public void execute() {
+        Quantities quantities;
+        try {
+            quantities = paged ? query(name, limit, offset) : query(name);
+        } catch (LogicException e) {
+            readWrite.writeError(e.getMessage());
+            return;
+        }
+        if (quantities.isEmpty()) {
+            readWrite.writeLine(InOutputStrings.EMPTY);
+            return;
+        }
+        outputQuantities(quantities, true);
+    }
+
+    @Override
+    void setArguments(String argument) throws InputException {
+        Matcher matcher = pattern.matcher(argument);
+        if ((!matcher.matches())) {
+            throw new AssertionError("This is a bug. Method was called without prior matching");
+        }
+        name = matcher.group("name");
+        paged = matcher.group("limit") != null;
+        if (paged) {
+            limit = tryParse(matcher.group("limit"), InOutputStrings.PAGE_TOO_LARGE);
+            offset = matcher.group("offset") == null ? 0
+                    : tryParse(matcher.group("offset"), InOutputStrings.PAGE_TOO_LARGE);
+        }
+    }
+}
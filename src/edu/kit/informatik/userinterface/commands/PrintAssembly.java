@@ -1,6 +1,5 @@
 package edu.kit.informatik.userinterface.commands;
 
-import edu.kit.informatik.ReadWrite;
 import edu.kit.informatik.logic.LogicException;
 import edu.kit.informatik.logic.UnknownAssemblyException;
 import edu.kit.informatik.userinterface.InOutputStrings;
@@ -51,12 +50,12 @@ public class PrintAssembly extends Command {
             outputStringIntegerMap(nodes, false);
         } catch (UnknownAssemblyException e) {
             if (e.nonExisting()) {
-                ReadWrite.writeError(e.getMessage());
+                readWrite.writeError(e.getMessage());
             } else {
-                ReadWrite.writeLine(InOutputStrings.SINGLE_PART.toString());
+                readWrite.writeLine(InOutputStrings.SINGLE_PART.toString());
             }
         } catch (LogicException e) {
-            ReadWrite.writeError(e.getMessage());
+            readWrite.writeError(e.getMessage());
         }
     }
 
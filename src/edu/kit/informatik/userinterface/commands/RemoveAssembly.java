@@ -1,6 +1,5 @@
 package edu.kit.informatik.userinterface.commands;
 
-import edu.kit.informatik.ReadWrite;
 import edu.kit.informatik.logic.LogicException;
 import edu.kit.informatik.userinterface.InOutputStrings;
 
@@ -41,9 +40,9 @@ public class RemoveAssembly extends Command {
     public void execute() {
         try {
             management.removeAssembly(name);
-            ReadWrite.writeLine(InOutputStrings.POSITIVE);
+            readWrite.writeLine(InOutputStrings.POSITIVE);
         } catch (LogicException e) {
-            ReadWrite.writeError(e.getMessage());
+            readWrite.writeError(e.getMessage());
         }
     }
 
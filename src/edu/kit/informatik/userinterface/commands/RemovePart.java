@@ -1,30 +1,21 @@
 package edu.kit.informatik.userinterface.commands;
 
-import edu.kit.informatik.ReadWrite;
 import edu.kit.informatik.logic.LogicException;
 import edu.kit.informatik.userinterface.InOutputStrings;
 import edu.kit.informatik.userinterface.InputException;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 /**
  * Command to alter an assembly by removing parts/assemblies of a given amount from it.
  * It deals with user in- and output.
- * Call {@link this#setArguments(String)} before calling {@link this#execute()}.
+ * Call {@link this#setArguments(String)} before calling {@link this#execute()}. The arguments are read by an
+ * {@link ArgumentScanner}.
  *
  * @author Liam Wachter
  * @version 1.0
  */
 public class RemovePart extends Command {
 
-    private static final Pattern PATTERN = Pattern.compile(
-            String.format("removePart%s(?<name>%s)-(?<amount>%s)%s(?<part>%s)",
-                    InOutputStrings.COMMAND_SEPARATOR,
-                    InOutputStrings.NAME_PATTERN,
-                    InOutputStrings.NUMBER_PATTERN,
-                    InOutputStrings.INNER_SEPARATOR,
-                    InOutputStrings.NAME_PATTERN));
+    private static final String KEYWORD = "removePart";
     private String name;
     private String partName;
     private int amount;
@@ -36,33 +27,32 @@ public class RemovePart extends Command {
     }
 
     /**
-     * Obtain a regex pattern for this command.
+     * Obtain the keyword of this command.
      *
-     * @return a pattern that, can be used to decide if this is the right command for a given
-     * user input.
+     * @return the word the user input has to start with, to be interpreted as this command.
      */
-    static Pattern getDefaultPattern() {
-        return PATTERN;
+    static String getKeyword() {
+        return KEYWORD;
     }
 
     @Override
     public void execute() {
         try {
             management.removePart(name, amount, partName);
-            ReadWrite.writeLine(InOutputStrings.POSITIVE.toString());
+            readWrite.writeLine(InOutputStrings.POSITIVE.toString());
         } catch (LogicException e) {
-            ReadWrite.writeError(e.getMessage());
+            readWrite.writeError(e.getMessage());
         }
     }
 
     @Override
     void setArguments(String argument) throws InputException {
-        Matcher matcher = PATTERN.matcher(argument);
-        if ((!matcher.matches())) {
-            throw new AssertionError("This is a bug. Method was called without prior matching");
-        }
-        name = matcher.group("name");
-        partName = matcher.group("part");
-        amount = tryParse(matcher.group("amount"));
+        ArgumentScanner scanner = new ArgumentScanner(argument, KEYWORD);
+        name = scanner.nextName();
+        scanner.expect(InOutputStrings.SUBTRACTION);
+        amount = scanner.nextNumber();
+        scanner.expect(InOutputStrings.INNER_SEPARATOR);
+        partName = scanner.nextName();
+        scanner.finish();
     }
 }
@@ -0,0 +1,66 @@
+package edu.kit.informatik.userinterface.commands;
+
+import edu.kit.informatik.logic.Histogram;
+import edu.kit.informatik.logic.Statistics;
+import edu.kit.informatik.userinterface.InOutputStrings;
+
+import java.util.regex.Pattern;
+
+/**
+ * Command to output the metrics of the material management: the size of the product structure, the work done by the
+ * checks for cycles and the explosions, and for each command and operation how often it was called and how long it
+ * took in nanoseconds.
+ * It deals with user in- and output.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+public class Stats extends Command {
+    private static final Pattern PATTERN = Pattern.compile("stats");
+    private static final double MEDIAN = 50;
+    private static final double P90 = 90;
+    private static final double P99 = 99;
+
+    /**
+     * Avoid initialisation outside of the package.
+     */
+    Stats() {
+    }
+
+    /**
+     * Obtain a regex pattern for this command.
+     *
+     * @return a pattern that, can be used to decide if this is the right command for a given user input.
+     */
+    static Pattern getDefaultPattern() {
+        return PATTERN;
+    }
+
+    @Override
+    public void execute() {
+        Statistics statistics = management.getStatistics();
+        writeValue("assemblies", statistics.getAssemblies());
+        writeValue("parts", statistics.getParts());
+        writeValue("edges", statistics.getEdges());
+        writeValue("cycleCheckVisits", statistics.getCycleCheckVisits());
+        writeValue("rollUpVisits", statistics.getRollUpVisits());
+        for (Histogram histogram : statistics.getHistograms()) {
+            readWrite.writeLine(histogram.getName() + InOutputStrings.INNER_SEPARATOR
+                    + String.join(InOutputStrings.ARGUMENT_SEPARATOR.toString(),
+                    "count=" + histogram.getCount(),
+                    "mean=" + histogram.getMean(),
+                    "p50=" + histogram.getPercentile(MEDIAN),
+                    "p90=" + histogram.getPercentile(P90),
+                    "p99=" + histogram.getPercentile(P99),
+                    "max=" + histogram.getMax()));
+        }
+    }
+
+    private void writeValue(String name, long value) {
+        readWrite.writeLine(name + InOutputStrings.INNER_SEPARATOR + value);
+    }
+
+    @Override
+    void setArguments(String argument) {
+    }
+}
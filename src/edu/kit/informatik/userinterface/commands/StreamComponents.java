@@ -0,0 +1,74 @@
+package edu.kit.informatik.userinterface.commands;
+
+import edu.kit.informatik.logic.LogicException;
+import edu.kit.informatik.userinterface.InOutputStrings;
+
+import java.math.BigInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Command to output the number and types of components required for building an assembly, just like
+ * {@link GetComponents}, but unsorted. Every component is written as soon as its amount is known, so even huge
+ * assemblies can be broken down without collecting all components first.
+ * It deals with user in- and output.
+ * Call {@link this#setArguments(String)} before calling {@link this#execute()}.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+public class StreamComponents extends Command {
+    private static final Pattern PATTERN = Pattern.compile(String.format("streamComponents%s(?<name>%s)",
+            InOutputStrings.COMMAND_SEPARATOR,
+            InOutputStrings.NAME_PATTERN));
+    private String name;
+    private boolean first;
+
+    /**
+     * Avoid initialisation outside of the package.
+     */
+    StreamComponents() {
+    }
+
+    /**
+     * Obtain a regex pattern for this command.
+     *
+     * @return a pattern that, can be used to decide if this is the right command for a given user input.
+     */
+    static Pattern getDefaultPattern() {
+        return PATTERN;
+    }
+
+    @Override
+    public void execute() {
+        first = true;
+        try {
+            management.streamComponents(name, this::write);
+        } catch (LogicException e) {
+            // nothing was written yet, the assembly is checked before the first component is handed over.
+            readWrite.writeError(e.getMessage());
+            return;
+        }
+        // every assembly consists of at least one component, so something was written that has to be ended now.
+        readWrite.writeLine("");
+    }
+
+    private void write(String component, long amount, BigInteger exactAmount) {
+        if (!first) {
+            readWrite.write(InOutputStrings.ARGUMENT_SEPARATOR);
+        }
+        first = false;
+        readWrite.write(component);
+        readWrite.write(InOutputStrings.INNER_SEPARATOR);
+        readWrite.write(exactAmount == null ? Long.toString(amount) : exactAmount.toString());
+    }
+
+    @Override
+    void setArguments(String argument) {
+        Matcher matcher = PATTERN.matcher(argument);
+        if ((!matcher.matches())) {
+            throw new AssertionError("This is a bug. Method was called without prior matching");
+        }
+        name = matcher.group("name");
+    }
+}
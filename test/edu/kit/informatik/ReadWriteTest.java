@@ -0,0 +1,67 @@
+package edu.kit.informatik;
+
+import edu.kit.informatik.logic.ErrorMessages;
+import edu.kit.informatik.logic.MaterialManagement;
+import edu.kit.informatik.userinterface.Session;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks when the output of a {@link ReadWrite} is written.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class ReadWriteTest {
+    private static final String NEW_LINE = System.lineSeparator();
+
+    @Test
+    void writesEachLineRightAwayUnlessBuffered() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ReadWrite readWrite = new ReadWrite(new ByteArrayInputStream(new byte[0]), output);
+        readWrite.writeLine("first");
+        assertEquals("first" + NEW_LINE, output.toString(StandardCharsets.UTF_8));
+        readWrite.setBuffered(true);
+        readWrite.writeLine("second");
+        assertEquals("first" + NEW_LINE, output.toString(StandardCharsets.UTF_8));
+        readWrite.setBuffered(false);
+        assertEquals("first" + NEW_LINE + "second" + NEW_LINE, output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void flushesBeforeWaitingForInput() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ReadWrite readWrite = new ReadWrite(new ByteArrayInputStream(("a" + NEW_LINE + "b" + NEW_LINE)
+                .getBytes(StandardCharsets.UTF_8)), output);
+        readWrite.setBuffered(true);
+        assertEquals("a", readWrite.readLine());
+        readWrite.writeLine("answer");
+        // more input is available right away, so the answer is kept.
+        assertEquals("b", readWrite.readLine());
+        assertEquals(0, output.size());
+        assertEquals(null, readWrite.readLine());
+        assertEquals("answer" + NEW_LINE, output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void answersTheSameInBatchMode() {
+        String script = String.join(NEW_LINE, "addAssembly A=2:B;1:C", "addPart A+1:C", "getComponents A",
+                "removePart A-2:B", "printAssembly A", "printAssembly X", "quit", "getComponents A") + NEW_LINE;
+        assertEquals(run(script, false), run(script, true));
+        assertEquals(String.join(NEW_LINE, "OK", "OK", "B:2;C:2", "OK", "C:2",
+                "Error, " + ErrorMessages.NONEXISTENT) + NEW_LINE, run(script, true));
+    }
+
+    private static String run(String script, boolean batch) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new Session(new ReadWrite(new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)), output),
+                new MaterialManagement(), batch).run();
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,100 @@
+package edu.kit.informatik.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the sums of an {@link Accumulator} stay exact when they do not fit into a <code>long</code> anymore.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class AccumulatorTest {
+    private static final long SAFE_WEIGHT = Long.MAX_VALUE / Short.MAX_VALUE;
+
+    @Test
+    void multipliesWeightsUpToTheSafeWeightAsLong() {
+        Accumulator sums = new Accumulator(0);
+        sums.addProduct(1, SAFE_WEIGHT, Short.MAX_VALUE);
+        assertFalse(sums.isWide(0));
+        assertEquals(SAFE_WEIGHT * Short.MAX_VALUE, sums.getSum(0));
+    }
+
+    @Test
+    void multipliesLargerWeightsExactly() {
+        Accumulator sums = new Accumulator(0);
+        sums.addProduct(1, SAFE_WEIGHT + 1, Short.MAX_VALUE);
+        sums.addProduct(2, Long.MAX_VALUE, 1000);
+        sums.addProduct(3, SAFE_WEIGHT + 1, 1);
+        assertEquals(BigInteger.valueOf(SAFE_WEIGHT + 1).multiply(BigInteger.valueOf(Short.MAX_VALUE)),
+                sums.getExactSum(0));
+        assertTrue(sums.isWide(1));
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.valueOf(1000)), sums.getExactSum(1));
+        // a product that fits into a long stays one, even if it was computed exactly.
+        assertFalse(sums.isWide(2));
+        assertEquals(SAFE_WEIGHT + 1, sums.getSum(2));
+    }
+
+    @Test
+    void keepsSumsExactWhenTheyOverflow() {
+        Accumulator sums = new Accumulator(0);
+        sums.add(7, Long.MAX_VALUE);
+        assertFalse(sums.isWide(0));
+        sums.add(7, 1);
+        assertTrue(sums.isWide(0));
+        sums.add(7, Long.MAX_VALUE);
+        BigInteger expected = BigInteger.valueOf(Long.MAX_VALUE).shiftLeft(1).add(BigInteger.ONE);
+        assertEquals(expected, sums.getExactSum(0));
+
+        Accumulator total = new Accumulator(0);
+        total.add(7, 1);
+        total.addAll(sums);
+        total.addAll(sums);
+        assertEquals(expected.shiftLeft(1).add(BigInteger.ONE), total.getExactSum(total.indexOf(7)));
+    }
+
+    @Test
+    void growsWithManyIds() {
+        Accumulator sums = new Accumulator(0);
+        for (int id = 0; id < 1000; id++) {
+            sums.add(id * 31, id);
+            sums.add(id * 31, id);
+        }
+        assertEquals(1000, sums.size());
+        for (int id = 0; id < 1000; id++) {
+            assertEquals(2L * id, sums.getSum(sums.indexOf(id * 31)));
+        }
+        assertEquals(-1, sums.indexOf(1));
+    }
+
+    @Test
+    void rollsUpAmountsBeyondALong() throws LogicException {
+        MaterialManagement management = new MaterialManagement();
+        // every level multiplies by 1000, so the parts below seven levels are needed 10^21 times.
+        String[] levels = {"A", "B", "C", "D", "E", "F", "G", "H"};
+        for (int level = 0; level < levels.length - 1; level++) {
+            Map<String, Integer> nodes = new HashMap<>();
+            nodes.put(levels[level + 1], 1000);
+            management.addAssembly(levels[level], nodes);
+        }
+        Quantities components = management.getComponents("A");
+        assertEquals(1, components.size());
+        assertEquals("H", components.getName(0));
+        assertTrue(components.isWide(0));
+        assertEquals(BigInteger.TEN.pow(21), components.getExactAmount(0));
+        Quantities assemblies = management.getAssemblies("A");
+        for (int index = 0; index < assemblies.size(); index++) {
+            if (assemblies.getName(index).equals("G")) {
+                assertEquals(BigInteger.TEN.pow(18), assemblies.getExactAmount(index));
+                assertFalse(assemblies.isWide(index));
+            }
+        }
+    }
+}
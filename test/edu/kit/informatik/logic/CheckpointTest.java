@@ -0,0 +1,96 @@
+package edu.kit.informatik.logic;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that a {@link Checkpoint} restores the product structure and fits together with the log.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class CheckpointTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void restoresTheProductStructure() throws IOException, LogicException {
+        Path file = directory.resolve("checkpoint");
+        MaterialManagement management = new MaterialManagement();
+        management.useCheckpoint(file);
+        management.addAssembly("A", Map.of("B", 2, "C", 1000));
+        management.addAssembly("B", Map.of("D", 3));
+        management.addAssembly("E", Map.of("D", 1));
+        management.checkpoint();
+        assertFalse(Files.exists(directory.resolve("checkpoint.tmp")));
+
+        MaterialManagement restored = new MaterialManagement();
+        restored.useCheckpoint(file);
+        assertEquals(Map.of("B", 2, "C", 1000), restored.printAssembly("A"));
+        assertEquals(Map.of("D", 3), restored.printAssembly("B"));
+        assertEquals(Map.of("D", 1), restored.printAssembly("E"));
+        assertEquals(Map.of("B", 3, "E", 1), restored.whereUsed("D"));
+    }
+
+    @Test
+    void continuesWithTheLog() throws IOException, LogicException {
+        Path file = directory.resolve("checkpoint");
+        Path log = directory.resolve("log");
+        MaterialManagement management = new MaterialManagement();
+        management.useCheckpoint(file);
+        management.useLog(log);
+        management.addAssembly("A", Map.of("B", 1));
+        management.checkpoint();
+        management.addPart("A", 2, "C");
+
+        MaterialManagement restored = new MaterialManagement();
+        restored.useCheckpoint(file);
+        restored.useLog(log);
+        assertEquals(Map.of("B", 1, "C", 2), restored.printAssembly("A"));
+    }
+
+    @Test
+    void replacesALogThatWasNotEmptiedAfterTheCheckpoint() throws IOException, LogicException {
+        Path file = directory.resolve("checkpoint");
+        Path log = directory.resolve("log");
+        Path oldLog = directory.resolve("old");
+        MaterialManagement management = new MaterialManagement();
+        management.useCheckpoint(file);
+        management.useLog(log);
+        management.addAssembly("A", Map.of("B", 1));
+        Files.copy(log, oldLog);
+        management.checkpoint();
+        // as if the program stopped after writing the checkpoint, but before emptying the log.
+        Files.copy(oldLog, log, StandardCopyOption.REPLACE_EXISTING);
+
+        MaterialManagement restored = new MaterialManagement();
+        restored.useCheckpoint(file);
+        restored.useLog(log);
+        assertEquals(Map.of("B", 1), restored.printAssembly("A"));
+    }
+
+    @Test
+    void rejectsALogOfAnotherCheckpoint() throws IOException, LogicException {
+        Path file = directory.resolve("checkpoint");
+        MaterialManagement management = new MaterialManagement();
+        management.useCheckpoint(file);
+        management.addAssembly("A", Map.of("B", 1));
+        management.checkpoint();
+        Path log = directory.resolve("log");
+        new MaterialManagement().useLog(log);
+
+        MaterialManagement restored = new MaterialManagement();
+        restored.useCheckpoint(file);
+        assertThrows(IOException.class, () -> restored.useLog(log));
+    }
+}
@@ -0,0 +1,83 @@
+package edu.kit.informatik.logic;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the locking of a {@link ConcurrentMaterialManagement}.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class ConcurrentMaterialManagementTest {
+
+    @Test
+    @Timeout(30)
+    void readersOnlySeeWholeChanges() throws Exception {
+        ConcurrentMaterialManagement management = new ConcurrentMaterialManagement();
+        management.addAssembly("A", Map.of("B", 1));
+        management.addAssembly("B", Map.of("P", 1));
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> reads = new ArrayList<>();
+            for (int reader = 0; reader < 4; reader++) {
+                reads.add(readers.submit(() -> {
+                    int count = 0;
+                    while (writing.get() || count == 0) {
+                        long parts = RollUpTest.toMap(management.getComponents("A")).get("P");
+                        int users = management.whereUsed("P").size();
+                        assertTrue(parts == 1 || parts == 2, "P:" + parts);
+                        assertTrue(users == 1 || users == 2, users + " users");
+                        count++;
+                    }
+                    return count;
+                }));
+            }
+            for (int change = 0; change < 2000; change++) {
+                management.addPart("B", 1, "P");
+                management.addAssembly("C", Map.of("P", 1, "Q", 1));
+                management.removePart("B", 1, "P");
+                management.removeAssembly("C");
+            }
+            writing.set(false);
+            for (Future<Integer> read : reads) {
+                assertTrue(read.get() > 0);
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+        assertEquals(Map.of("B", 1), management.whereUsed("P"));
+    }
+
+    @Test
+    @Timeout(10)
+    void streamsWithoutBlockingChanges() throws LogicException {
+        ConcurrentMaterialManagement management = new ConcurrentMaterialManagement();
+        management.addAssembly("A", Map.of("B", 2, "C", 1));
+        Map<String, Long> streamed = new HashMap<>();
+        // a consumer that changes the material management would wait for its own read lock forever.
+        management.streamComponents("A", (name, amount, exactAmount) -> {
+            streamed.put(name, amount);
+            try {
+                management.addPart("A", 1, name);
+            } catch (LogicException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertEquals(Map.of("B", 2L, "C", 1L), streamed);
+        assertEquals(Map.of("B", 3, "C", 2), management.printAssembly("A"));
+    }
+}
@@ -0,0 +1,106 @@
+package edu.kit.informatik.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that an {@link EdgeList} finds its edges, no matter if it is scanned or hashed.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class EdgeListTest {
+
+    @Test
+    void behavesLikeAMap() {
+        Random random = new Random(3);
+        EdgeList edges = new EdgeList(0);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int step = 0; step < 20000; step++) {
+            // few ids, so the list grows and shrinks around the size where hashing starts.
+            int id = random.nextInt(step < 10000 ? 24 : 2000) * 7;
+            int operation = random.nextInt(4);
+            if (operation == 0) {
+                edges.remove(id);
+                expected.remove(id);
+            } else if (operation == 1) {
+                edges.removeUnordered(id);
+                expected.remove(id);
+            } else {
+                int amount = 1 + random.nextInt(1000);
+                edges.put(id, amount);
+                expected.put(id, amount);
+            }
+            assertEquals(expected.size(), edges.size());
+            if (step % 100 == 0) {
+                assertSame(expected, edges);
+            }
+        }
+        assertSame(expected, edges.with(1, 1).without(1));
+    }
+
+    @Test
+    void keepsTheOrderOfOrderedChanges() {
+        EdgeList edges = new EdgeList(0);
+        for (int id = 0; id < 20; id++) {
+            edges.put(id, 1);
+        }
+        edges.remove(3);
+        EdgeList copy = edges.with(3, 2);
+        for (int index = 0; index < copy.size(); index++) {
+            assertEquals(index < 3 ? index : index == 19 ? 3 : index + 1, copy.getId(index));
+            assertEquals(index, copy.indexOf(copy.getId(index)));
+        }
+    }
+
+    @Test
+    void linksACommonPartQuickly() throws LogicException {
+        MaterialManagement management = new MaterialManagement();
+        for (int assembly = 0; assembly < 50000; assembly++) {
+            management.addAssembly(name(assembly), Map.of("common", 1));
+        }
+        for (int assembly = 0; assembly < 50000; assembly += 2) {
+            management.removeAssembly(name(assembly));
+        }
+        assertEquals(25000, management.whereUsed("common").size());
+    }
+
+    @Test
+    void snapshotTellsPartsFromUnknownNames() throws LogicException {
+        MaterialManagement management = new MaterialManagement();
+        management.addAssembly("A", Map.of("B", 2));
+        Snapshot snapshot = management.snapshot();
+        management.addAssembly("C", Map.of("D", 1));
+        for (int round = 0; round < 2; round++) {
+            assertFalse(assertThrows(UnknownAssemblyException.class, () -> snapshot.printAssembly("B")).nonExisting());
+            assertTrue(assertThrows(UnknownAssemblyException.class, () -> snapshot.printAssembly("D")).nonExisting());
+        }
+    }
+
+    private static String name(int number) {
+        StringBuilder name = new StringBuilder("a");
+        for (int rest = number; rest > 0; rest /= 26) {
+            name.append((char) ('a' + rest % 26));
+        }
+        return name.toString();
+    }
+
+    private static void assertSame(Map<Integer, Integer> expected, EdgeList edges) {
+        assertEquals(expected.size(), edges.size());
+        for (int index = 0; index < edges.size(); index++) {
+            assertEquals(expected.get(edges.getId(index)), edges.getAmount(index));
+            assertEquals(index, edges.indexOf(edges.getId(index)));
+        }
+        for (int id = 0; id < 2000 * 7; id++) {
+            assertEquals(expected.containsKey(id), edges.indexOf(id) >= 0, "id " + id);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package edu.kit.informatik.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Checks that the cached explosions of the assemblies are dropped exactly when something below them changes.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class ExplosionCacheTest {
+    private final Register register = new Register();
+    private final NameTable names = register.getNames();
+
+    @Test
+    void keepsTheExplosionUntilSomethingBelowChanges() throws LogicException {
+        assemble("C", "P", 2);
+        assemble("B", "C", 3);
+        assemble("A", "B", 1);
+        assemble("X", "Q", 1);
+        Quantities components = register.getComponents(id("A"));
+        register.getComponents(id("X"));
+        Explosion cached = register.get(id("A")).getExplosion();
+        assertNotNull(cached);
+        register.getComponents(id("A"));
+        assertSame(cached, register.get(id("A")).getExplosion());
+        assertEquals(Map.of("P", 6L), RollUpTest.toMap(components));
+
+        register.get(id("C")).addPart(names.intern("R"), 1);
+        // everything above C is dropped, the unrelated X is kept.
+        assertNull(register.get(id("A")).getExplosion());
+        assertNull(register.get(id("B")).getExplosion());
+        assertNotNull(register.get(id("X")).getExplosion());
+        assertEquals(Map.of("P", 6L, "R", 3L), RollUpTest.toMap(register.getComponents(id("A"))));
+        // the view handed out before is not altered.
+        assertEquals(Map.of("P", 6L), RollUpTest.toMap(components));
+
+        register.get(id("C")).removePart(id("R"), 1);
+        assertEquals(Map.of("P", 6L), RollUpTest.toMap(register.getComponents(id("A"))));
+    }
+
+    private void assemble(String name, String child, int amount) throws LogicException {
+        new Assembly(names.intern(name), new int[] {names.intern(child)}, new int[] {amount}, register);
+    }
+
+    private int id(String name) {
+        return names.find(name);
+    }
+}
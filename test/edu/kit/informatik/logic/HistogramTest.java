@@ -0,0 +1,58 @@
+package edu.kit.informatik.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the recorded latencies.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class HistogramTest {
+
+    @Test
+    void countsEveryThread() throws InterruptedException {
+        Histogram histogram = new Histogram("test");
+        List<Thread> threads = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            long offset = thread;
+            threads.add(new Thread(() -> {
+                for (long value = 1; value <= 10000; value++) {
+                    histogram.record(value * 4 - offset);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(40000, histogram.getCount());
+        assertEquals(40000, histogram.getMax());
+        assertEquals(20000, histogram.getMean());
+        long median = histogram.getPercentile(50);
+        assertTrue(median >= 20000 && median <= 20000 * 1.04, "median " + median);
+    }
+
+    @Test
+    void recordsEveryOperationOnce() throws LogicException {
+        MaterialManagement management = new MaterialManagement();
+        management.addAssembly("A", Map.of("B", 2));
+        management.addPart("A", 1, "C");
+        management.getComponents("A");
+        assertThrows(LogicException.class, () -> management.getComponents("B"));
+        Map<String, Long> counts = management.getStatistics().getCounts();
+        assertEquals(1, counts.get("operation.addAssembly"));
+        assertEquals(1, counts.get("operation.addPart"));
+        assertEquals(2, counts.get("operation.getComponents"));
+        assertFalse(counts.containsKey("operation.removePart"));
+    }
+}
@@ -0,0 +1,72 @@
+package edu.kit.informatik.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Checks that the {@link LowLevelCodes} follow the changes of the product structure.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class LowLevelCodesTest {
+
+    @Test
+    void levelsByTheDeepestUse() throws LogicException {
+        MaterialManagement management = build();
+        assertEquals(Map.of(1, "B:1;D:1", 2, "E:1;X:1", 3, "C:2"), levels(management, "A"));
+    }
+
+    @Test
+    void changesTheCodesAfterAnUnlink() throws LogicException {
+        MaterialManagement management = build();
+        // E is not used by D anymore, so C is only used below B.
+        management.removePart("D", 1, "E");
+        assertEquals(Map.of(1, "B:1;D:1", 2, "C:1;X:1"), levels(management, "A"));
+        management.addAssembly("X", Map.of("C", 1));
+        assertEquals(Map.of(1, "B:1;D:1", 2, "X:1", 3, "C:2"), levels(management, "A"));
+    }
+
+    @Test
+    void recomputesOnlyAfterAChange() throws LogicException {
+        Register register = new Register();
+        NameTable names = register.getNames();
+        new Assembly(names.intern("A"), new int[] {names.intern("B")}, new int[] {1}, register);
+        LowLevelCodes codes = new LowLevelCodes(register);
+        codes.update(names.find("B"));
+        int[] first = codes.getCodes();
+        assertEquals(1, first[names.find("B")]);
+        assertSame(first, codes.getCodes());
+    }
+
+    private static MaterialManagement build() throws LogicException {
+        MaterialManagement management = new MaterialManagement();
+        management.addAssembly("A", Map.of("B", 1, "D", 1));
+        management.addAssembly("B", Map.of("C", 1));
+        management.addAssembly("D", Map.of("E", 1, "X", 1));
+        management.addAssembly("E", Map.of("C", 1));
+        return management;
+    }
+
+    private static Map<Integer, String> levels(MaterialManagement management, String name) throws LogicException {
+        Map<Integer, String> levels = new TreeMap<>();
+        for (Map.Entry<Integer, Quantities> level : management.getLevels(name).entrySet()) {
+            Map<String, Long> amounts = new TreeMap<>();
+            Quantities quantities = level.getValue();
+            for (int index = 0; index < quantities.size(); index++) {
+                amounts.put(quantities.getName(index), quantities.getAmount(index));
+            }
+            StringBuilder text = new StringBuilder();
+            for (Map.Entry<String, Long> amount : amounts.entrySet()) {
+                text.append(text.length() > 0 ? ";" : "").append(amount.getKey()).append(':').append(amount.getValue());
+            }
+            levels.put(level.getKey(), text.toString());
+        }
+        return levels;
+    }
+}
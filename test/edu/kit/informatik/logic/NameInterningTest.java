@@ -0,0 +1,72 @@
+package edu.kit.informatik.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that names are only interned by changes that succeed, so rejected commands do not fill the
+ * {@link NameTable}.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class NameInterningTest {
+    private final Register register = new Register();
+    private final NameTable names = register.getNames();
+
+    @Test
+    void checksAssembliesWithUnknownNames() throws LogicException {
+        new Assembly(names.intern("A"), new int[] {names.intern("B")}, new int[] {1}, register);
+        int[] unknown = {NameTable.UNKNOWN};
+        assertThrows(LogicException.class, () -> Assembly.check(NameTable.UNKNOWN, unknown, new int[] {0}, register));
+        assertThrows(LogicException.class, () -> Assembly.check(names.find("A"), unknown, new int[] {1}, register));
+        CycleException cycle = assertThrows(CycleException.class, () -> Assembly.check(names.find("B"),
+                new int[] {names.find("A"), NameTable.UNKNOWN}, new int[] {1, 1}, register));
+        assertTrue(cycle.getMessage().endsWith("A-B-A"), cycle.getMessage());
+        assertEquals(0, Assembly.check(NameTable.UNKNOWN, unknown, new int[] {1}, register).size());
+        assertEquals(2, names.size());
+    }
+
+    @Test
+    void internsTheNamesOfABatchOnlyAfterItWasChecked() throws LogicException {
+        names.intern("A");
+        Batch batch = new Batch(register);
+        int first = batch.idOf("X");
+        assertEquals(1, first);
+        assertEquals(first, batch.idOf("X"));
+        assertEquals(0, batch.idOf("A"));
+        batch.add(first, new int[] {batch.idOf("Y")}, new int[] {1});
+        batch.add(batch.idOf("Y"), new int[] {first}, new int[] {1});
+        CycleException cycle = assertThrows(CycleException.class, batch::sort);
+        assertTrue(cycle.getMessage().endsWith("X-Y-X"), cycle.getMessage());
+        assertEquals(1, names.size());
+
+        batch = new Batch(register);
+        batch.add(batch.idOf("X"), new int[] {batch.idOf("Y")}, new int[] {1});
+        batch.sort();
+        batch.intern();
+        assertEquals(1, names.find("X"));
+        assertEquals(2, names.find("Y"));
+    }
+
+    @Test
+    void keepsTheErrorsOfRejectedCommands() throws LogicException {
+        MaterialManagement management = new MaterialManagement();
+        CycleException cycle = assertThrows(CycleException.class,
+                () -> management.addAssembly("A", Map.of("A", 1)));
+        assertTrue(cycle.getMessage().endsWith("A-A"), cycle.getMessage());
+        management.addAssembly("A", Map.of("B", 1));
+        LogicException bounds = assertThrows(LogicException.class, () -> management.addPart("A", 1001, "C"));
+        assertEquals(ErrorMessages.BOUNDS.toString(), bounds.getMessage());
+        LogicException positive = assertThrows(LogicException.class, () -> management.addPart("A", 0, "C"));
+        assertEquals(ErrorMessages.NOT_POSITIVE.toString(), positive.getMessage());
+        assertThrows(UnknownAssemblyException.class, () -> management.printAssembly("C"));
+        management.addPart("A", 2, "C");
+        assertEquals(Map.of("B", 1, "C", 2), management.printAssembly("A"));
+    }
+}
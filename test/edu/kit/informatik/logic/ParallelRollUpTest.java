@@ -0,0 +1,58 @@
+package edu.kit.informatik.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a {@link ParallelRollUp} computes the same explosion as a sequential roll-up.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class ParallelRollUpTest {
+
+    @Test
+    void explodesWideAssembliesLikeTheSequentialRollUp() {
+        // a root with 64 children above 2000 assemblies, that share some of the assemblies below them.
+        int assemblies = 2000;
+        int parts = 100;
+        EdgeList[] structure = new EdgeList[1 + assemblies + parts];
+        Random random = new Random(7);
+        for (int id = 1; id <= assemblies; id++) {
+            structure[id] = new EdgeList(3);
+            for (int edge = 0; edge < 3; edge++) {
+                // children always have a larger id, so there are no cycles.
+                int child = id + 1 + random.nextInt(Math.min(40, assemblies + parts - id));
+                structure[id].put(child, 1 + random.nextInt(3));
+            }
+        }
+        structure[0] = new EdgeList(64);
+        for (int child = 1; child <= 64; child++) {
+            structure[0].put(child * 30, child);
+        }
+        Structure product = new Structure(structure);
+        assertTrue(ParallelRollUp.isWorthIt(product, 0));
+        assertEquals(100, product.countAssemblies(0, 100));
+        assertEquals(product.topologicalOrder(0, false).length, product.countAssemblies(0, Integer.MAX_VALUE));
+        assertFalse(ParallelRollUp.isWorthIt(product, 1));
+
+        Explosion sequential = product.explode(0, false);
+        Explosion parallel = product.explode(0, true);
+        assertSameSums(sequential.getAssemblies(), parallel.getAssemblies());
+        assertSameSums(sequential.getComponents(), parallel.getComponents());
+    }
+
+    private static void assertSameSums(Accumulator expected, Accumulator actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int index = 0; index < expected.size(); index++) {
+            int position = actual.indexOf(expected.getId(index));
+            assertTrue(position >= 0);
+            assertEquals(expected.getExactSum(index), actual.getExactSum(position));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package edu.kit.informatik.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the sums of an {@link Accumulator} and the read-only {@link Quantities} views on them.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class QuantitiesTest {
+    private final NameTable names = new NameTable();
+
+    @Test
+    void sumsLikeAMapWhileGrowing() {
+        Random random = new Random(5);
+        Accumulator sums = new Accumulator(0);
+        Map<Integer, Long> expected = new HashMap<>();
+        for (int step = 0; step < 5000; step++) {
+            int id = random.nextInt(700) * 13;
+            long amount = 1 + random.nextInt(1000);
+            sums.add(id, amount);
+            expected.merge(id, amount, Long::sum);
+        }
+        assertEquals(expected.size(), sums.size());
+        for (int index = 0; index < sums.size(); index++) {
+            assertEquals(expected.get(sums.getId(index)), sums.getSum(index));
+            assertEquals(index, sums.indexOf(sums.getId(index)));
+        }
+        assertEquals(-1, sums.indexOf(1));
+    }
+
+    @Test
+    void selectsPagesInTheOrderOfTheirRank() {
+        Random random = new Random(9);
+        Accumulator sums = new Accumulator(0);
+        for (int name = 0; name < 200; name++) {
+            // few different amounts, so many entries are ranked by their name.
+            sums.add(names.intern("N" + (char) ('a' + name / 26) + (char) ('a' + name % 26)), 1 + random.nextInt(5));
+        }
+        Quantities all = new Quantities(names, sums);
+        List<Integer> ranked = new ArrayList<>();
+        for (int index = 0; index < all.size(); index++) {
+            ranked.add(index);
+        }
+        ranked.sort(Comparator.<Integer>comparingLong(index -> -all.getAmount(index)).thenComparing(all::getName));
+        for (int offset : new int[] {0, 7, 195, 250}) {
+            Quantities page = all.select(offset, 10);
+            assertEquals(Math.max(0, Math.min(10, 200 - offset)), page.size());
+            for (int index = 0; index < page.size(); index++) {
+                assertEquals(all.getName(ranked.get(offset + index)), page.getName(index));
+                assertEquals(all.getAmount(ranked.get(offset + index)), page.getAmount(index));
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package edu.kit.informatik.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static edu.kit.informatik.logic.RollUpTest.toMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that breaking down several assemblies at once results in the same amounts as breaking down each of them on
+ * its own.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class RequirementsTest {
+
+    @Test
+    void sumsTheDemandOfSharedAssemblies() throws LogicException {
+        MaterialManagement management = new MaterialManagement();
+        management.addAssembly("S", Map.of("P", 3));
+        management.addAssembly("A", Map.of("S", 2, "Q", 1));
+        management.addAssembly("B", Map.of("S", 1));
+        Map<String, Integer> demands = new LinkedHashMap<>();
+        demands.put("A", 2);
+        demands.put("B", 5);
+        // S is needed 2 * 2 + 5 * 1 times and counted once.
+        assertEquals(Map.of("A", 2L, "B", 5L, "S", 9L, "P", 27L, "Q", 2L),
+            toMap(management.getRequirements(demands)));
+    }
+
+    @Test
+    void matchesTheExplosionOfEachAssembly() throws LogicException {
+        MaterialManagement management = new MaterialManagement();
+        Random random = new Random(5);
+        int assemblies = 40;
+        for (int assembly = assemblies - 1; assembly >= 0; assembly--) {
+            Map<String, Integer> children = new HashMap<>();
+            for (int child = 0; child < 3; child++) {
+                int number = assembly + 1 + random.nextInt(8);
+                children.put(number < assemblies ? "A" + number : "P" + number % 6, 1 + random.nextInt(4));
+            }
+            management.addAssembly("A" + assembly, children);
+        }
+        Map<String, Integer> demands = Map.of("A0", 3, "A2", 1, "A7", 4, "A30", 2);
+        Map<String, Long> expected = new HashMap<>();
+        for (Map.Entry<String, Integer> demand : demands.entrySet()) {
+            expected.merge(demand.getKey(), (long) demand.getValue(), Long::sum);
+            for (Map.Entry<String, Long> below : toMap(management.getAssemblies(demand.getKey())).entrySet()) {
+                expected.merge(below.getKey(), below.getValue() * demand.getValue(), Long::sum);
+            }
+            for (Map.Entry<String, Long> below : toMap(management.getComponents(demand.getKey())).entrySet()) {
+                expected.merge(below.getKey(), below.getValue() * demand.getValue(), Long::sum);
+            }
+        }
+        assertEquals(expected, toMap(management.getRequirements(demands)));
+    }
+
+    @Test
+    void refusesWhatCanNotBeBuilt() throws LogicException {
+        MaterialManagement management = new MaterialManagement();
+        management.addAssembly("A", Map.of("P", 1));
+        assertTrue(assertThrows(UnknownAssemblyException.class,
+            () -> management.getRequirements(Map.of("A", 1, "X", 1))).nonExisting());
+        assertFalse(assertThrows(UnknownAssemblyException.class,
+            () -> management.getRequirements(Map.of("P", 1))).nonExisting());
+        assertEquals(ErrorMessages.NOT_POSITIVE.toString(),
+            assertThrows(LogicException.class, () -> management.getRequirements(Map.of("A", 0))).getMessage());
+    }
+}
@@ -0,0 +1,79 @@
+package edu.kit.informatik.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that rolling up the product structure once per assembly in topological order results in the same amounts
+ * as expanding it like a tree along every path.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class RollUpTest {
+
+    @Test
+    void countsSharedAssembliesOncePerPath() throws LogicException {
+        MaterialManagement management = new MaterialManagement();
+        // D is reached via B and C, so its parts are needed for both paths.
+        management.addAssembly("D", Map.of("P", 5));
+        management.addAssembly("B", Map.of("D", 2, "Q", 1));
+        management.addAssembly("C", Map.of("D", 3));
+        management.addAssembly("A", Map.of("B", 1, "C", 2));
+        assertEquals(Map.of("P", 40L, "Q", 1L), toMap(management.getComponents("A")));
+        assertEquals(Map.of("B", 1L, "C", 2L, "D", 8L), toMap(management.getAssemblies("A")));
+    }
+
+    @Test
+    void rollsUpARandomStructureLikeATree() throws LogicException {
+        MaterialManagement management = new MaterialManagement();
+        Random random = new Random(11);
+        int assemblies = 60;
+        for (int assembly = assemblies - 1; assembly >= 0; assembly--) {
+            Map<String, Integer> children = new HashMap<>();
+            for (int child = 0; child < 4; child++) {
+                // assemblies only use assemblies with a larger number, so there are no cycles.
+                int number = assembly + 1 + random.nextInt(12);
+                children.put(number < assemblies ? name("A", number) : name("P", number % 7), 1 + random.nextInt(5));
+            }
+            management.addAssembly(name("A", assembly), children);
+        }
+        for (int assembly = 0; assembly < assemblies; assembly += 7) {
+            Map<String, Long> components = new HashMap<>();
+            Map<String, Long> used = new HashMap<>();
+            expand(management, name("A", assembly), 1, components, used);
+            assertEquals(components, toMap(management.getComponents(name("A", assembly))));
+            assertEquals(used, toMap(management.getAssemblies(name("A", assembly))));
+        }
+    }
+
+    private static void expand(MaterialManagement management, String assembly, long factor,
+            Map<String, Long> components, Map<String, Long> used) throws LogicException {
+        for (Map.Entry<String, Integer> child : management.printAssembly(assembly).entrySet()) {
+            long amount = factor * child.getValue();
+            if (child.getKey().startsWith("A")) {
+                used.merge(child.getKey(), amount, Long::sum);
+                expand(management, child.getKey(), amount, components, used);
+            } else {
+                components.merge(child.getKey(), amount, Long::sum);
+            }
+        }
+    }
+
+    private static String name(String prefix, int number) {
+        return prefix + (char) ('a' + number / 26) + (char) ('a' + number % 26);
+    }
+
+    static Map<String, Long> toMap(Quantities quantities) {
+        Map<String, Long> map = new HashMap<>();
+        for (int index = 0; index < quantities.size(); index++) {
+            map.put(quantities.getName(index), quantities.getAmount(index));
+        }
+        return map;
+    }
+}
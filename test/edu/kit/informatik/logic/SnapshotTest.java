@@ -0,0 +1,51 @@
+package edu.kit.informatik.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a {@link Snapshot} keeps the product structure of the moment it was taken.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class SnapshotTest {
+
+    @Test
+    void isNotAffectedByLaterChanges() throws LogicException {
+        MaterialManagement management = new MaterialManagement();
+        management.addAssembly("A", Map.of("B", 2, "C", 1));
+        management.addAssembly("B", Map.of("D", 3));
+        Snapshot snapshot = management.snapshot();
+        Map<String, Integer> printed = management.printAssembly("A");
+
+        management.addPart("A", 1, "C");
+        management.addPart("B", 4, "E");
+        management.removeAssembly("B");
+        management.addAssembly("X", Map.of("A", 1));
+
+        assertEquals(Map.of("B", 2, "C", 1), snapshot.printAssembly("A"));
+        assertEquals(Map.of("D", 3), snapshot.printAssembly("B"));
+        assertEquals(Map.of("C", 1L, "D", 6L), RollUpTest.toMap(snapshot.getComponents("A")));
+        assertEquals(Map.of("B", 2L), RollUpTest.toMap(snapshot.getAssemblies("A")));
+        assertTrue(assertThrows(UnknownAssemblyException.class, () -> snapshot.printAssembly("X")).nonExisting());
+        // the views handed out by the material management do not change either.
+        assertEquals(Map.of("B", 2, "C", 1), printed);
+        assertEquals(Map.of("B", 2, "C", 2), management.printAssembly("A"));
+        assertEquals(Map.of("B", 2L, "C", 2L), RollUpTest.toMap(management.getComponents("A")));
+    }
+
+    @Test
+    void handsOutReadOnlyViews() throws LogicException {
+        MaterialManagement management = new MaterialManagement();
+        management.addAssembly("A", Map.of("B", 2));
+        Map<String, Integer> printed = management.snapshot().printAssembly("A");
+        assertThrows(UnsupportedOperationException.class, () -> printed.put("C", 1));
+        assertThrows(UnsupportedOperationException.class, () -> management.printAssembly("A").remove("B"));
+    }
+}
@@ -0,0 +1,67 @@
+package edu.kit.informatik.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that streaming the components hands over the same parts and amounts as collecting them.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class StreamComponentsTest {
+
+    @Test
+    void handsOverEveryPartOnceWithItsTotal() throws LogicException {
+        MaterialManagement management = new MaterialManagement();
+        Random random = new Random(17);
+        for (int assembly = 39; assembly >= 0; assembly--) {
+            Map<String, Integer> children = new HashMap<>();
+            for (int child = 0; child < 3; child++) {
+                int number = assembly + 1 + random.nextInt(8);
+                children.put(number < 40 ? "A" + (char) ('a' + number / 26) + (char) ('a' + number % 26)
+                        : "P" + (char) ('a' + number % 5), 1 + random.nextInt(4));
+            }
+            management.addAssembly("A" + (char) ('a' + assembly / 26) + (char) ('a' + assembly % 26), children);
+        }
+        Map<String, Long> streamed = new HashMap<>();
+        management.streamComponents("Aaa", (name, amount, exactAmount) -> {
+            assertNull(exactAmount);
+            assertNull(streamed.put(name, amount), name + " was handed over twice");
+        });
+        assertEquals(RollUpTest.toMap(management.getComponents("Aaa")), streamed);
+    }
+
+    @Test
+    void handsOverExactAmounts() throws LogicException {
+        MaterialManagement management = new MaterialManagement();
+        for (int level = 0; level < 7; level++) {
+            management.addAssembly("A" + (char) ('a' + level), Map.of("A" + (char) ('a' + level + 1), 1000));
+        }
+        Map<String, BigInteger> streamed = new HashMap<>();
+        management.streamComponents("Aa", (name, amount, exactAmount) -> streamed.put(name, exactAmount));
+        assertEquals(Map.of("Ah", BigInteger.TEN.pow(21)), streamed);
+    }
+
+    @Test
+    void handsOverNothingForUnknownAssemblies() throws LogicException {
+        MaterialManagement management = new MaterialManagement();
+        management.addAssembly("A", Map.of("B", 1));
+        Map<String, Long> streamed = new HashMap<>();
+        assertTrue(assertThrows(UnknownAssemblyException.class,
+                () -> management.streamComponents("X", (name, amount, exactAmount) -> streamed.put(name, amount)))
+                .nonExisting());
+        assertThrows(UnknownAssemblyException.class,
+                () -> management.streamComponents("B", (name, amount, exactAmount) -> streamed.put(name, amount)));
+        assertTrue(streamed.isEmpty());
+    }
+}
@@ -0,0 +1,133 @@
+package edu.kit.informatik.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the {@link TopologicalOrder} of a register rejects exactly the changes that would create a cycle and
+ * keeps every assembly ordered before its children.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class TopologicalOrderTest {
+    private final Register register = new Register();
+    private final NameTable names = register.getNames();
+
+    @Test
+    void reordersWhenAChildIsOrderedBeforeItsNewAssembly() throws LogicException {
+        assemble("X", "Y");
+        assemble("Z", "W");
+        // Y was ordered behind X, Z in front of it. So Z has to move behind Y.
+        assertTrue(position("Y") > position("Z"));
+        assemble("Y", "Z");
+        assertOrdered();
+        assertTrue(position("X") < position("Y"));
+        assertTrue(position("Y") < position("Z"));
+        assertTrue(position("Z") < position("W"));
+    }
+
+    @Test
+    void rejectsACycleAndKeepsTheStructure() throws LogicException {
+        assemble("X", "Y");
+        assemble("Y", "Z");
+        assemble("Z", "W");
+        CycleException cycle = assertThrows(CycleException.class,
+                () -> register.get(names.find("Z")).addPart(names.find("X"), 1));
+        assertTrue(cycle.getMessage().endsWith("X-Y-Z-X"), cycle.getMessage());
+        assertEquals(-1, register.get(names.find("Z")).getParts().indexOf(names.find("X")));
+        assertFalse(register.getOrder().insert(names.find("W"), names.find("X")));
+        assertFalse(register.getOrder().insert(names.find("X"), names.find("X")));
+        assertOrdered();
+    }
+
+    @Test
+    void reportsTheCycleThroughTheFirstAddedChild() throws LogicException {
+        assemble("X", "B");
+        assemble("Y", "B");
+        new Assembly(names.intern("A"), new int[] {names.find("Y"), names.find("X")}, new int[] {1, 1}, register);
+        assemble("C", "A");
+        CycleException cycle = assertThrows(CycleException.class,
+                () -> register.get(names.find("X")).addPart(names.find("C"), 1));
+        assertTrue(cycle.getMessage().endsWith("C-A-X-C"), cycle.getMessage());
+        // both A-X-B-A and A-Y-B-A would be closed, Y was added to A first.
+        cycle = assertThrows(CycleException.class,
+                () -> new Assembly(names.find("B"), new int[] {names.find("A")}, new int[] {1}, register));
+        assertTrue(cycle.getMessage().endsWith("A-Y-B-A"), cycle.getMessage());
+    }
+
+    @Test
+    void rejectsExactlyTheEdgesThatCloseACycle() {
+        int size = 40;
+        for (int name = 0; name < size; name++) {
+            names.intern("N" + (char) ('a' + name / 26) + (char) ('a' + name % 26));
+        }
+        Random random = new Random(42);
+        for (int step = 0; step < 600; step++) {
+            int parent = random.nextInt(size);
+            int child = random.nextInt(size);
+            boolean cycle = parent == child || reaches(child, parent);
+            try {
+                Assembly assembly = register.get(parent);
+                if (assembly == null) {
+                    new Assembly(parent, new int[] {child}, new int[] {1}, register);
+                } else {
+                    assembly.addPart(child, 1);
+                }
+                assertFalse(cycle, "accepted a cycle at step " + step);
+            } catch (CycleException e) {
+                assertTrue(cycle, "rejected an edge without a cycle at step " + step);
+            } catch (LogicException e) {
+                // the amount reached its bound, this edge is just skipped.
+                assertFalse(cycle, e.getMessage());
+            }
+            assertOrdered();
+        }
+    }
+
+    private void assemble(String name, String child) throws LogicException {
+        new Assembly(names.intern(name), new int[] {names.intern(child)}, new int[] {1}, register);
+    }
+
+    private int position(String name) {
+        return register.getOrder().getPosition(names.find(name));
+    }
+
+    private boolean reaches(int from, int to) {
+        if (from == to) {
+            return true;
+        }
+        Assembly assembly = register.get(from);
+        if (assembly == null) {
+            return false;
+        }
+        EdgeList children = assembly.getParts();
+        for (int index = 0; index < children.size(); index++) {
+            if (reaches(children.getId(index), to)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void assertOrdered() {
+        TopologicalOrder order = register.getOrder();
+        for (int id = 0; id < names.size(); id++) {
+            Assembly assembly = register.get(id);
+            if (assembly == null) {
+                continue;
+            }
+            EdgeList children = assembly.getParts();
+            for (int index = 0; index < children.size(); index++) {
+                assertTrue(order.getPosition(id) < order.getPosition(children.getId(index)),
+                        names.getName(id) + " is not ordered before " + names.getName(children.getId(index)));
+            }
+        }
+    }
+}
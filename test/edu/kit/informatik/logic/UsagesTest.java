@@ -0,0 +1,83 @@
+package edu.kit.informatik.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static edu.kit.informatik.logic.RollUpTest.toMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that walking up the product structure once results in the same amounts as exploding every assembly.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class UsagesTest {
+
+    @Test
+    void rollsUpTheAmountsAlongEveryPath() throws LogicException {
+        MaterialManagement management = new MaterialManagement();
+        // P is reached from A via B and via C.
+        management.addAssembly("D", Map.of("P", 5));
+        management.addAssembly("B", Map.of("D", 2, "P", 1));
+        management.addAssembly("C", Map.of("D", 3));
+        management.addAssembly("A", Map.of("B", 1, "C", 2));
+        assertEquals(Map.of("D", 5L, "B", 11L, "C", 15L, "A", 41L), toMap(management.getUsages("P")));
+        assertEquals(Map.of("B", 2L, "C", 3L, "A", 8L), toMap(management.getUsages("D")));
+        assertTrue(toMap(management.getUsages("A")).isEmpty());
+
+        management.removeAssembly("A");
+        assertFalse(toMap(management.getUsages("P")).containsKey("A"));
+        assertTrue(assertThrows(UnknownAssemblyException.class, () -> management.getUsages("X")).nonExisting());
+    }
+
+    @Test
+    void matchesTheExplosionOfEveryAssembly() throws LogicException {
+        MaterialManagement management = new MaterialManagement();
+        Random random = new Random(23);
+        int assemblies = 50;
+        for (int assembly = assemblies - 1; assembly >= 0; assembly--) {
+            Map<String, Integer> children = new HashMap<>();
+            for (int child = 0; child < 3; child++) {
+                int number = assembly + 1 + random.nextInt(10);
+                children.put(number < assemblies ? "A" + number : "P" + number % 5, 1 + random.nextInt(4));
+            }
+            management.addAssembly("A" + assembly, children);
+        }
+        for (String used : List.of("P0", "P3", "A20", "A45")) {
+            Map<String, Long> expected = new HashMap<>();
+            for (int assembly = 0; assembly < assemblies; assembly++) {
+                Map<String, Long> below = toMap(used.startsWith("P") ? management.getComponents("A" + assembly)
+                        : management.getAssemblies("A" + assembly));
+                if (below.containsKey(used)) {
+                    expected.put("A" + assembly, below.get(used));
+                }
+            }
+            assertEquals(expected, toMap(management.getUsages(used)));
+        }
+    }
+
+    @Test
+    void pagesByAmountAndName() throws LogicException {
+        MaterialManagement management = new MaterialManagement();
+        management.addAssembly("B", Map.of("P", 2));
+        management.addAssembly("C", Map.of("P", 2));
+        management.addAssembly("A", Map.of("B", 3, "P", 1));
+        Quantities page = management.getUsages("P", 2, 0);
+        assertEquals(2, page.size());
+        assertEquals("A", page.getName(0));
+        assertEquals(7, page.getAmount(0));
+        assertEquals("B", page.getName(1));
+        Quantities rest = management.getUsages("P", 2, 2);
+        assertEquals(1, rest.size());
+        assertEquals("C", rest.getName(0));
+        assertEquals(0, management.getUsages("P", 2, 3).size());
+    }
+}
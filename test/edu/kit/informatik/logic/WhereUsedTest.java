@@ -0,0 +1,52 @@
+package edu.kit.informatik.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the where-used index of the register follows every change of the product structure.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class WhereUsedTest {
+
+    @Test
+    void followsAddedAndRemovedParts() throws LogicException {
+        MaterialManagement management = new MaterialManagement();
+        management.addAssembly("A", Map.of("P", 2, "Q", 1));
+        management.addAssembly("B", Map.of("P", 3));
+        assertEquals(Map.of("A", 2, "B", 3), management.whereUsed("P"));
+        management.addPart("A", 1, "P");
+        assertEquals(Map.of("A", 3, "B", 3), management.whereUsed("P"));
+
+        management.removePart("A", 1, "Q");
+        // Q is not used anywhere anymore, so it is gone.
+        assertTrue(assertThrows(UnknownAssemblyException.class, () -> management.whereUsed("Q")).nonExisting());
+        management.removeAssembly("B");
+        assertEquals(Map.of("A", 3), management.whereUsed("P"));
+        assertFalse(assertThrows(UnknownAssemblyException.class, () -> management.printAssembly("P")).nonExisting());
+    }
+
+    @Test
+    void answersHasPartFromTheIndex() throws LogicException {
+        Register register = new Register();
+        NameTable names = register.getNames();
+        int part = names.intern("P");
+        new Assembly(names.intern("A"), new int[] {part}, new int[] {1}, register);
+        new Assembly(names.intern("B"), new int[] {part}, new int[] {1}, register);
+        assertTrue(register.hasPart(part));
+        assertFalse(register.hasPart(names.find("A")));
+        register.unregister(names.find("A"));
+        assertTrue(register.hasPart(part));
+        register.unregister(names.find("B"));
+        assertFalse(register.hasPart(part));
+        assertEquals(0, register.getParents(part).size());
+    }
+}
@@ -0,0 +1,119 @@
+package edu.kit.informatik.logic;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that a {@link WriteAheadLog} restores the logged changes and only drops a frame at its end, that was not
+ * written completely.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class WriteAheadLogTest {
+    // the header of the file and the header of the first frame.
+    private static final int FIRST_BODY = 16 + 8;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysAllChanges() throws IOException, LogicException {
+        Path file = directory.resolve("log");
+        MaterialManagement management = new MaterialManagement();
+        management.useLog(file);
+        change(management);
+        assertEquals(Map.of("B", 3, "D", 1), restore(file).printAssembly("A"));
+        assertEquals(Map.of("E", 1), restore(file).printAssembly("D"));
+    }
+
+    @Test
+    void dropsATornTail() throws IOException, LogicException {
+        Path file = directory.resolve("log");
+        MaterialManagement management = new MaterialManagement();
+        management.useLog(file);
+        change(management);
+        long size = Files.size(file);
+        // a frame header that promises more than was written.
+        append(file, ByteBuffer.allocate(11).putInt(100).putInt(0).put(new byte[] {1, 2, 3}).array());
+        assertEquals(Map.of("B", 3, "D", 1), restore(file).printAssembly("A"));
+        assertEquals(size, Files.size(file));
+
+        append(file, new byte[64]);
+        assertEquals(Map.of("B", 3, "D", 1), restore(file).printAssembly("A"));
+        assertEquals(size, Files.size(file));
+    }
+
+    @Test
+    void dropsTheLastFrameIfItsChecksumIsWrong() throws IOException, LogicException {
+        Path file = directory.resolve("log");
+        MaterialManagement management = new MaterialManagement();
+        management.useLog(file);
+        management.addAssembly("A", Map.of("B", 1));
+        long size = Files.size(file);
+        management.addPart("A", 2, "B");
+        flip(file, Files.size(file) - 1);
+        assertEquals(Map.of("B", 1), restore(file).printAssembly("A"));
+        assertEquals(size, Files.size(file));
+    }
+
+    @Test
+    void rejectsADamagedFrameInTheMiddle() throws IOException, LogicException {
+        Path file = directory.resolve("log");
+        MaterialManagement management = new MaterialManagement();
+        management.useLog(file);
+        change(management);
+        long size = Files.size(file);
+        flip(file, FIRST_BODY + 1);
+        assertThrows(IOException.class, () -> new MaterialManagement().useLog(file));
+        // the committed frames behind the damaged one are kept.
+        assertEquals(size, Files.size(file));
+    }
+
+    @Test
+    void rejectsChangesAfterAFailedWrite() throws IOException {
+        Path file = directory.resolve("log");
+        NameTable names = new NameTable();
+        WriteAheadLog log = new WriteAheadLog(file, names, 0);
+        log.replay(new MaterialManagement());
+        log.ensureWritable();
+        log.close();
+        log.removeAssembly(names.intern("A"));
+        assertThrows(LogFailedException.class, log::sync);
+        assertThrows(LogFailedException.class, log::ensureWritable);
+    }
+
+    private static void change(MaterialManagement management) throws LogicException {
+        management.addAssembly("A", Map.of("B", 1, "C", 2));
+        management.addPart("A", 2, "B");
+        management.addAssembly("D", Map.of("E", 1));
+        management.addPart("A", 1, "D");
+        management.removePart("A", 2, "C");
+    }
+
+    private static MaterialManagement restore(Path file) throws IOException {
+        MaterialManagement management = new MaterialManagement();
+        management.useLog(file);
+        return management;
+    }
+
+    private static void append(Path file, byte[] bytes) throws IOException {
+        Files.write(file, bytes, StandardOpenOption.APPEND);
+    }
+
+    private static void flip(Path file, long position) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[(int) position] ^= 1;
+        Files.write(file, bytes);
+    }
+}
@@ -0,0 +1,64 @@
+package edu.kit.informatik.userinterface;
+
+import edu.kit.informatik.logic.ConcurrentMaterialManagement;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that clients of the {@link Server} share one material management.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class ServerTest {
+
+    @Test
+    @Timeout(10)
+    void servesClientsOverLoopback() throws Exception {
+        Server server = new Server(0, new ConcurrentMaterialManagement());
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            Thread accepting = new Thread(() -> {
+                try {
+                    server.accept(socket);
+                } catch (IOException e) {
+                    // the socket was closed at the end of the test.
+                }
+            });
+            accepting.start();
+            assertEquals(Arrays.asList("OK"), send(socket.getLocalPort(), "addAssembly A=2:B;1:C"));
+            assertEquals(Arrays.asList("B:2;C:1", "A:2"),
+                    send(socket.getLocalPort(), "getComponents A", "getUsages B"));
+            assertEquals(Arrays.asList("Error, " + InOutputStrings.REMOTE_IMPORT),
+                    send(socket.getLocalPort(), "importAssemblies build.gradle"));
+        }
+    }
+
+    private static List<String> send(int port, String... commands) throws IOException {
+        try (Socket client = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            OutputStream output = client.getOutputStream();
+            output.write((String.join("\n", commands) + "\n").getBytes(StandardCharsets.UTF_8));
+            client.shutdownOutput();
+            BufferedReader input = new BufferedReader(
+                    new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+            List<String> lines = new ArrayList<>();
+            for (String line = input.readLine(); line != null; line = input.readLine()) {
+                lines.add(line);
+            }
+            return lines;
+        }
+    }
+}
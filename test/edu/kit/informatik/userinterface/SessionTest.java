@@ -0,0 +1,102 @@
+package edu.kit.informatik.userinterface;
+
+import edu.kit.informatik.ReadWrite;
+import edu.kit.informatik.logic.LogFailedException;
+import edu.kit.informatik.logic.MaterialManagement;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs commands through a {@link Session} and compares the output line by line.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class SessionTest {
+
+    @Test
+    void printsEmptyPages() {
+        assertEquals(Arrays.asList("OK", "C:3;B:2", "C:3", "EMPTY", "EMPTY", "EMPTY", "EMPTY", "EMPTY"),
+                run(new MaterialManagement(), "addAssembly A=2:B;3:C",
+                        "getComponents A", "getComponents A 1", "getComponents A 0", "getComponents A 5 10",
+                        "getAssemblies A 1", "getAssemblies A", "getUsages A 1"));
+    }
+
+    @Test
+    void pagesEveryPagedQuery() {
+        assertEquals(Arrays.asList("OK", "OK", "C:6;D:1", "D:1", "B:2", "A:6;B:3",
+                        "Error, " + InOutputStrings.PAGE_TOO_LARGE, "Error, " + InOutputStrings.PAGE_TOO_LARGE),
+                run(new MaterialManagement(), "addAssembly A=2:B;1:D", "addAssembly B=3:C",
+                        "getComponents A", "getComponents A 5 1", "getAssemblies A 1 0", "getUsages C 2",
+                        "getComponents A 2147483648", "getUsages C 1 99999999999"));
+    }
+
+    @Test
+    void reportsAFailedLogAndGoesOn() {
+        MaterialManagement management = new MaterialManagement() {
+            @Override
+            public void addPart(String assemblyName, int amount, String part) {
+                throw new LogFailedException(new IOException("No space left on device"));
+            }
+        };
+        assertEquals(Arrays.asList("OK", "Error, " + InOutputStrings.INVALID_LOG + "No space left on device", "B:1"),
+                run(management, "addAssembly A=1:B", "addPart A+1:C", "printAssembly A"));
+    }
+
+    @Test
+    void importsAssembliesInAnyOrder(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("assemblies");
+        Files.write(file, Arrays.asList("addAssembly A=2:B;1:C", "", "addAssembly B=3:C"));
+        assertEquals(Arrays.asList("OK", "C:7"), run(new MaterialManagement(), "importAssemblies " + file,
+                "getComponents A"));
+    }
+
+    @Test
+    void reportsTheCycleOfAnImport(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("assemblies");
+        // the cycle passes through the existing assembly X, that uses the part A.
+        Files.write(file, Arrays.asList("addAssembly A=1:B", "addAssembly B=1:X"));
+        assertEquals(Arrays.asList("OK", "Error, this definition would create a cycle. The following branch is not "
+                        + "allowed: A-B-X-A", "EMPTY"),
+                run(new MaterialManagement(), "addAssembly X=1:A", "importAssemblies " + file, "getAssemblies X"));
+    }
+
+    @Test
+    void rejectsLinesThatAreNoDefinitions(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("assemblies");
+        Files.write(file, Arrays.asList("addAssembly A=1:B", "addAssemblyX C=1:D"));
+        Path other = directory.resolve("other");
+        Files.write(other, Arrays.asList("addAssembly A=1:B", "", "addAssembly"));
+        assertEquals(Arrays.asList("Error, line 2: " + InOutputStrings.NO_MATCHING_COMMAND,
+                "Error, line 3: " + InOutputStrings.WRONG_ARGUMENTS, "Error, no such item."),
+                run(new MaterialManagement(), "importAssemblies " + file, "importAssemblies " + other,
+                        "printAssembly A"));
+    }
+
+    /**
+     * Run a session until its input ends.
+     *
+     * @param management the material management of the session.
+     * @param lines      the input of the user.
+     * @return the output, one element per line.
+     */
+    static List<String> run(MaterialManagement management, String... lines) {
+        String input = String.join(System.lineSeparator(), lines) + System.lineSeparator();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new Session(new ReadWrite(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output),
+                management, false).run();
+        String text = output.toString(StandardCharsets.UTF_8);
+        return text.isEmpty() ? List.of() : Arrays.asList(text.split(System.lineSeparator()));
+    }
+}
@@ -0,0 +1,96 @@
+package edu.kit.informatik.userinterface.commands;
+
+import edu.kit.informatik.userinterface.InOutputStrings;
+import edu.kit.informatik.userinterface.InputException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that the {@link ArgumentScanner} accepts exactly what the patterns it replaced accepted. Every input is
+ * given to a command <code>k</code> with a single argument, once read as a name and once as a number.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class ArgumentScannerTest {
+    private static final String KEYWORD = "k";
+    private static final Pattern NAME = Pattern.compile(KEYWORD + InOutputStrings.COMMAND_SEPARATOR
+            + InOutputStrings.NAME_PATTERN);
+    private static final Pattern NUMBER = Pattern.compile(KEYWORD + InOutputStrings.COMMAND_SEPARATOR
+            + InOutputStrings.NUMBER_PATTERN);
+
+    @ParameterizedTest
+    @ValueSource(strings = {"k ", "k 0", "k 00", "k 01", "k 007", "k 1000", "k 2147483647", "k 2147483648",
+            "k 99999999999999999999", "k a", "k abc", "k AbC", "k a1", "k 1a", "k ab1c", "k äb", "k é", "k abc;",
+            "k 10;", "k abc:", "k 10 ", "k  10", "k  abc", "k", "k-10", "k -1", "k +1", "k ab c", "k a_b"})
+    void acceptsWhatThePatternsAccepted(String input) {
+        assertEquals(NAME.matcher(input).matches(), acceptsName(input), "name: " + input);
+        assertEquals(NUMBER.matcher(input).matches(), acceptsNumber(input), "number: " + input);
+    }
+
+    @Test
+    void readsTheValues() throws InputException {
+        ArgumentScanner scanner = new ArgumentScanner("k A=0:B;1000:C", KEYWORD);
+        assertEquals("A", scanner.nextName());
+        scanner.expect(InOutputStrings.DEFINITION_SEPARATOR);
+        assertEquals(0, scanner.nextNumber());
+        scanner.expect(InOutputStrings.INNER_SEPARATOR);
+        assertEquals("B", scanner.nextName());
+        scanner.expect(InOutputStrings.ARGUMENT_SEPARATOR);
+        assertEquals(1000, scanner.nextNumber());
+        scanner.expect(InOutputStrings.INNER_SEPARATOR);
+        assertEquals("C", scanner.nextName());
+        scanner.finish();
+    }
+
+    @Test
+    void reportsHugeNumbersAfterTheSyntax() throws InputException {
+        ArgumentScanner huge = new ArgumentScanner("k 2147483648", KEYWORD);
+        assertEquals(-1, huge.nextNumber());
+        InputException problem = assertThrows(InputException.class, huge::finish);
+        assertEquals(InOutputStrings.WAY_TO_HUGE.toString(), problem.getMessage());
+
+        ArgumentScanner hugeAndWrong = new ArgumentScanner("k 2147483648;", KEYWORD);
+        hugeAndWrong.nextNumber();
+        problem = assertThrows(InputException.class, hugeAndWrong::finish);
+        assertEquals(InOutputStrings.WRONG_ARGUMENTS.toString(), problem.getMessage());
+    }
+
+    private static boolean acceptsName(String input) {
+        try {
+            ArgumentScanner scanner = new ArgumentScanner(input, KEYWORD);
+            scanner.nextName();
+            return finish(scanner);
+        } catch (InputException e) {
+            return false;
+        }
+    }
+
+    private static boolean acceptsNumber(String input) {
+        try {
+            ArgumentScanner scanner = new ArgumentScanner(input, KEYWORD);
+            scanner.nextNumber();
+            return finish(scanner);
+        } catch (InputException e) {
+            return false;
+        }
+    }
+
+    /**
+     * A number that is too big is syntactically valid, its problem is reported only after the syntax was checked.
+     */
+    private static boolean finish(ArgumentScanner scanner) {
+        try {
+            scanner.finish();
+            return true;
+        } catch (InputException e) {
+            return !InOutputStrings.WRONG_ARGUMENTS.toString().equals(e.getMessage());
+        }
+    }
+}
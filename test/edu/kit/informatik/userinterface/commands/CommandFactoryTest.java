@@ -0,0 +1,54 @@
+package edu.kit.informatik.userinterface.commands;
+
+import edu.kit.informatik.ReadWrite;
+import edu.kit.informatik.logic.MaterialManagement;
+import edu.kit.informatik.userinterface.InOutputStrings;
+import edu.kit.informatik.userinterface.InputException;
+import edu.kit.informatik.userinterface.Session;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that the {@link CommandFactory} finds commands by their keyword and tells wrong arguments from unknown
+ * commands.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class CommandFactoryTest {
+    private final CommandFactory factory = new CommandFactory(new Session(new ReadWrite(
+            new ByteArrayInputStream(new byte[0]), new ByteArrayOutputStream()), new MaterialManagement(), false));
+
+    @Test
+    void findsCommandsByTheirKeyword() throws InputException {
+        assertEquals(AddAssembly.class, factory.getCommand("addAssembly A=1:B").getClass());
+        assertEquals(AddPart.class, factory.getCommand("addPart A+1:B").getClass());
+        assertEquals(GetComponents.class, factory.getCommand("getComponents A 10 5").getClass());
+        assertEquals(GetUsages.class, factory.getCommand("getUsages A").getClass());
+        assertEquals(GetRequirements.class, factory.getCommand("getRequirements 2:A;1:B").getClass());
+        assertEquals(Quit.class, factory.getCommand("quit").getClass());
+        // every input gets a command of its own.
+        assertNotSame(factory.getCommand("quit"), factory.getCommand("quit"));
+    }
+
+    @Test
+    void rejectsUnknownCommandsAndWrongArguments() {
+        assertEquals(InOutputStrings.NO_MATCHING_COMMAND.toString(),
+                assertThrows(InputException.class, () -> factory.getCommand("explode A")).getMessage());
+        assertEquals(InOutputStrings.NO_MATCHING_COMMAND.toString(),
+                assertThrows(InputException.class, () -> factory.getCommand("getcomponents A")).getMessage());
+        // a command without arguments does not exist with arguments.
+        assertEquals(InOutputStrings.NO_MATCHING_COMMAND.toString(),
+                assertThrows(InputException.class, () -> factory.getCommand("quit now")).getMessage());
+        assertEquals(InOutputStrings.WRONG_ARGUMENTS.toString(),
+                assertThrows(InputException.class, () -> factory.getCommand("getComponents A1")).getMessage());
+        assertEquals(InOutputStrings.WRONG_ARGUMENTS.toString(),
+                assertThrows(InputException.class, () -> factory.getCommand("printAssembly")).getMessage());
+    }
+}
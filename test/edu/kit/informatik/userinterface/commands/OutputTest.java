@@ -0,0 +1,53 @@
+package edu.kit.informatik.userinterface.commands;
+
+import edu.kit.informatik.ReadWrite;
+import edu.kit.informatik.logic.MaterialManagement;
+import edu.kit.informatik.userinterface.Session;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the format and the order of the quantities written by the commands.
+ *
+ * @author Liam Wachter
+ * @version 1.0
+ */
+class OutputTest {
+
+    @Test
+    void sortsByAmountAndThenByName() {
+        assertEquals(Arrays.asList("OK", "D:5;B:3;C:3;E:1", "B:3;C:3;D:5;E:1"),
+                run("addAssembly A=3:C;1:E;5:D;3:B", "getComponents A", "printAssembly A"));
+    }
+
+    @Test
+    void writesAmountsLargerThanALongExactly() {
+        // seven levels of 1000 each need 10^21 parts, that does not fit into a long.
+        List<String> commands = new ArrayList<>();
+        for (int level = 0; level < 7; level++) {
+            commands.add("addAssembly " + (char) ('A' + level) + "=1000:" + (char) ('A' + level + 1) + ";1:Z");
+        }
+        commands.add("getComponents A");
+        List<String> output = run(commands.toArray(new String[0]));
+        String huge = BigInteger.TEN.pow(21).toString();
+        // the huge amount is ranked above every amount that fits into a long.
+        assertEquals("H:" + huge + ";Z:1001001001001001001", output.get(output.size() - 1));
+    }
+
+    private static List<String> run(String... lines) {
+        String input = String.join(System.lineSeparator(), lines) + System.lineSeparator();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new Session(new ReadWrite(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output),
+                new MaterialManagement(), true).run();
+        return Arrays.asList(output.toString(StandardCharsets.UTF_8).split(System.lineSeparator()));
+    }
+}